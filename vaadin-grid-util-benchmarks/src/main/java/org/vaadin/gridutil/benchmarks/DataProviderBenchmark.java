@@ -0,0 +1,103 @@
+package org.vaadin.gridutil.benchmarks;
+
+import com.vaadin.data.provider.ListDataProvider;
+import com.vaadin.data.provider.Query;
+import com.vaadin.server.SerializableComparator;
+import com.vaadin.server.SerializablePredicate;
+import com.vaadin.ui.Grid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vaadin.gridutil.benchmarks.data.BenchmarkDataGen;
+import org.vaadin.gridutil.benchmarks.data.Inhabitant;
+import org.vaadin.gridutil.cell.GridCellFilter;
+import org.vaadin.gridutil.cell.filter.DoubleRangeFilter;
+import org.vaadin.gridutil.cell.filter.SimpleStringFilter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * end-to-end cost of a filter change within a {@link GridCellFilter}: refreshing the filters followed by the size and
+ * fetch queries the grid sends to its {@link ListDataProvider}<br>
+ * the body size filter alternates between two disjoint ranges so that every refresh has to scan all rows, either
+ * bean by bean or column-wise
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class DataProviderBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"10000", "100000", "1000000", "10000000"})
+    public int rows;
+
+    @Param({"false", "true"})
+    public boolean columnar;
+
+    private GridCellFilter<Inhabitant> cellFilter;
+
+    private ListDataProvider<Inhabitant> dataProvider;
+
+    private GridCellFilter<Inhabitant>.CellFilterId bodySizeId;
+
+    private SerializablePredicate<?>[] bodySizeFilters;
+
+    private int refreshes;
+
+    private SerializableComparator<Inhabitant> nameOrder;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        final List<Inhabitant> items = BenchmarkDataGen.genInhabitants(rows);
+        final Grid<Inhabitant> grid = new Grid<>(Inhabitant.class);
+        grid.setItems(items);
+        dataProvider = (ListDataProvider<Inhabitant>) grid.getDataProvider();
+        cellFilter = new GridCellFilter<>(grid, Inhabitant.class);
+        cellFilter.setColumnarFiltering(columnar);
+        cellFilter.replaceFilter(new SimpleStringFilter("a", true, false), cellFilter.createCellFilterId("name"));
+        bodySizeId = cellFilter.createCellFilterId("bodySize");
+        bodySizeFilters = new SerializablePredicate<?>[]{new DoubleRangeFilter(1.2, 1.6),
+                new DoubleRangeFilter(1.6, 2.0)};
+        cellFilter.replaceFilter(bodySizeFilters[0], bodySizeId);
+        nameOrder = (a, b) -> a.getName().compareTo(b.getName());
+    }
+
+    @Benchmark
+    public int refreshAndSize() {
+        cellFilter.replaceFilter(bodySizeFilters[++refreshes & 1], bodySizeId);
+        return dataProvider.size(new Query<>());
+    }
+
+    @Benchmark
+    public int size() {
+        return dataProvider.size(new Query<>());
+    }
+
+    @Benchmark
+    public List<Inhabitant> fetchFirstPage() {
+        return dataProvider.fetch(new Query<>(0, PAGE_SIZE, Collections.emptyList(), null, null))
+                           .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Inhabitant> fetchFirstPageSorted() {
+        return dataProvider.fetch(new Query<>(0, PAGE_SIZE, Collections.emptyList(), nameOrder, null))
+                           .collect(Collectors.toList());
+    }
+}
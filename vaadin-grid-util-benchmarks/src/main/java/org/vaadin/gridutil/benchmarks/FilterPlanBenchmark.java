@@ -0,0 +1,89 @@
+package org.vaadin.gridutil.benchmarks;
+
+import com.vaadin.server.SerializablePredicate;
+import com.vaadin.ui.Grid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vaadin.gridutil.benchmarks.data.BenchmarkDataGen;
+import org.vaadin.gridutil.benchmarks.data.Inhabitant;
+import org.vaadin.gridutil.cell.FilterPlan;
+import org.vaadin.gridutil.cell.FilterStatistics;
+import org.vaadin.gridutil.cell.GridCellFilter;
+import org.vaadin.gridutil.cell.SerializableToDoubleFunction;
+import org.vaadin.gridutil.cell.filter.DoubleRangeFilter;
+import org.vaadin.gridutil.cell.filter.EqualFilter;
+import org.vaadin.gridutil.cell.filter.SimpleStringFilter;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * cost of the composed predicate the {@link GridCellFilter} builds from all assigned filters, tested against every
+ * item like the {@link com.vaadin.data.provider.ListDataProvider} does
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class FilterPlanBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private List<Inhabitant> items;
+
+    private FilterPlan<Inhabitant> plan;
+
+    private FilterPlan<Inhabitant> primitivePlan;
+
+    @Setup
+    public void setup() {
+        items = BenchmarkDataGen.genInhabitants(rows);
+        final Grid<Inhabitant> grid = new Grid<>(Inhabitant.class);
+        grid.setItems(items);
+        final GridCellFilter<Inhabitant> cellFilter = new GridCellFilter<>(grid, Inhabitant.class);
+
+        final Map<GridCellFilter<Inhabitant>.CellFilterId, SerializablePredicate> filters = new HashMap<>();
+        filters.put(cellFilter.createCellFilterId("name"), new SimpleStringFilter("a", true, false));
+        filters.put(cellFilter.createCellFilterId("gender"), new EqualFilter<>(Inhabitant.Gender.FEMALE));
+        filters.put(cellFilter.createCellFilterId("bodySize"), new DoubleRangeFilter(1.2, 1.8));
+        plan = new FilterPlan<>(filters, new HashMap<GridCellFilter<Inhabitant>.CellFilterId, FilterStatistics>());
+        primitivePlan = new FilterPlan<>(filters,
+                                         new HashMap<GridCellFilter<Inhabitant>.CellFilterId, FilterStatistics>(),
+                                         Collections.singletonMap("bodySize",
+                                                                  (SerializableToDoubleFunction<Inhabitant>)
+                                                                          Inhabitant::getBodySize));
+    }
+
+    @Benchmark
+    public int composedPredicate() {
+        return count(plan);
+    }
+
+    @Benchmark
+    public int composedPredicatePrimitiveGetter() {
+        return count(primitivePlan);
+    }
+
+    private int count(final FilterPlan<Inhabitant> plan) {
+        int matches = 0;
+        for (Inhabitant item : items) {
+            matches += plan.test(item) ? 1 : 0;
+        }
+        return matches;
+    }
+}
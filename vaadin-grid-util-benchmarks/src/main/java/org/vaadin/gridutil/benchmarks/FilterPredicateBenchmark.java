@@ -0,0 +1,140 @@
+package org.vaadin.gridutil.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vaadin.gridutil.benchmarks.data.BenchmarkDataGen;
+import org.vaadin.gridutil.benchmarks.data.Inhabitant;
+import org.vaadin.gridutil.cell.filter.BetweenFilter;
+import org.vaadin.gridutil.cell.filter.DoubleRangeFilter;
+import org.vaadin.gridutil.cell.filter.EqualFilter;
+import org.vaadin.gridutil.cell.filter.GreaterOrEqualFilter;
+import org.vaadin.gridutil.cell.filter.SimpleStringFilter;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * cost of a single filter predicate per tested value<br>
+ * the values are extracted up front, so only the predicate itself gets measured
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterPredicateBenchmark {
+
+    private static final int VALUES = 10_000;
+
+    private String[] names;
+
+    private Inhabitant.Gender[] genders;
+
+    private Double[] bodySizes;
+
+    private double[] primitiveBodySizes;
+
+    private SimpleStringFilter prefixFilter;
+
+    private SimpleStringFilter containsFilter;
+
+    private EqualFilter<Inhabitant.Gender> equalFilter;
+
+    private BetweenFilter<Double> betweenFilter;
+
+    private GreaterOrEqualFilter<Double> greaterOrEqualFilter;
+
+    private DoubleRangeFilter doubleRangeFilter;
+
+    @Setup
+    public void setup() {
+        final List<Inhabitant> inhabitants = BenchmarkDataGen.genInhabitants(VALUES);
+        names = new String[VALUES];
+        genders = new Inhabitant.Gender[VALUES];
+        bodySizes = new Double[VALUES];
+        primitiveBodySizes = new double[VALUES];
+        for (int i = 0; i < VALUES; i++) {
+            final Inhabitant inhabitant = inhabitants.get(i);
+            names[i] = inhabitant.getName();
+            genders[i] = inhabitant.getGender();
+            bodySizes[i] = inhabitant.getBodySize();
+            primitiveBodySizes[i] = inhabitant.getBodySize();
+        }
+        prefixFilter = new SimpleStringFilter("ja", true, true);
+        containsFilter = new SimpleStringFilter("li", true, false);
+        equalFilter = new EqualFilter<>(Inhabitant.Gender.FEMALE);
+        betweenFilter = new BetweenFilter<>(1.2, 1.8);
+        greaterOrEqualFilter = new GreaterOrEqualFilter<>(1.6);
+        doubleRangeFilter = new DoubleRangeFilter(1.2, 1.8);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public int simpleStringFilterPrefix() {
+        int matches = 0;
+        for (String name : names) {
+            matches += prefixFilter.test(name) ? 1 : 0;
+        }
+        return matches;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public int simpleStringFilterContains() {
+        int matches = 0;
+        for (String name : names) {
+            matches += containsFilter.test(name) ? 1 : 0;
+        }
+        return matches;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public int equalFilter() {
+        int matches = 0;
+        for (Inhabitant.Gender gender : genders) {
+            matches += equalFilter.test(gender) ? 1 : 0;
+        }
+        return matches;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public int betweenFilter() {
+        int matches = 0;
+        for (Double bodySize : bodySizes) {
+            matches += betweenFilter.test(bodySize) ? 1 : 0;
+        }
+        return matches;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public int greaterOrEqualFilter() {
+        int matches = 0;
+        for (Double bodySize : bodySizes) {
+            matches += greaterOrEqualFilter.test(bodySize) ? 1 : 0;
+        }
+        return matches;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public int doubleRangeFilterPrimitive() {
+        int matches = 0;
+        for (double bodySize : primitiveBodySizes) {
+            matches += doubleRangeFilter.testDouble(bodySize) ? 1 : 0;
+        }
+        return matches;
+    }
+}
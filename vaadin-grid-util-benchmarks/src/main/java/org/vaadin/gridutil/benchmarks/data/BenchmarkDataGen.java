@@ -0,0 +1,59 @@
+package org.vaadin.gridutil.benchmarks.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * generates inhabitants like the DummyDataGen of the demo application<br>
+ * uses a fixed seed and a fixed reference date so that every run filters exactly the same rows
+ */
+public final class BenchmarkDataGen {
+
+    public static final long SEED = 4711L;
+
+    /**
+     * 2017-08-01T00:00:00Z
+     */
+    public static final long REFERENCE_MILLIS = 1501545600000L;
+
+    public static final long MILLIS_PER_DAY = 86_400_000L;
+
+    public static final List<String> FEMALES = Arrays.asList("AMELIA", "OLIVIA", "JESSICA", "EMILY", "LILY", "AVA",
+                                                             "MIA", "ISLA", "SOPHIE", "ISABELLA", "EVIE", "RUBY",
+                                                             "POPPY", "GRACE", "SOPHIA", "CHLOE", "ISABELLE", "ELLA",
+                                                             "FREYA", "CHARLOTTE", "SCARLETT", "DAISY", "LOLA", "EVA",
+                                                             "HOLLY", "MILLIE", "LUCY", "PHOEBE", "LAYLA", "MAISIE");
+
+    public static final List<String> MALES = Arrays.asList("OLIVER", "JACK", "CHARLIE", "JACOB", "THOMAS", "ALFIE",
+                                                           "RILEY", "WILLIAM", "JAMES", "JOSHUA", "GEORGE", "ETHAN",
+                                                           "NOAH", "SAMUEL", "DANIEL", "OSCAR", "MAX", "MUHAMMAD",
+                                                           "LEO", "TYLER", "JOSEPH", "ARCHIE", "HENRY", "LUCAS",
+                                                           "MOHAMMED", "ALEXANDER", "DYLAN", "LOGAN", "ISAAC", "MASON");
+
+    private BenchmarkDataGen() {
+    }
+
+    public static List<Inhabitant> genInhabitants(final int quantity) {
+        final Random random = new Random(SEED);
+        final List<Inhabitant> result = new ArrayList<>(quantity);
+        for (long x = 1; x <= quantity; x++) {
+            result.add(genInhabitant(random, x));
+        }
+        return result;
+    }
+
+    private static Inhabitant genInhabitant(final Random random, final long id) {
+        final Inhabitant inh = new Inhabitant(id, random.nextBoolean() ?
+                                                  Inhabitant.Gender.FEMALE :
+                                                  Inhabitant.Gender.MALE);
+        final List<String> names = inh.getGender() == Inhabitant.Gender.MALE ? MALES : FEMALES;
+        inh.setName(names.get(random.nextInt(names.size())));
+        inh.setBirthday(new Date(REFERENCE_MILLIS - random.nextInt(365 * 90) * MILLIS_PER_DAY));
+        inh.setBodySize(1.6 + random.nextDouble() * (random.nextBoolean() ? -1 : 1));
+        inh.setOnFacebook(random.nextBoolean());
+        return inh;
+    }
+}
@@ -0,0 +1,82 @@
+package org.vaadin.gridutil.benchmarks.data;
+
+import java.util.Date;
+
+/**
+ * bean of the benchmarks, same properties as the Inhabitants of the demo application
+ */
+public class Inhabitant {
+
+    private long id;
+    private Gender gender;
+    private String name;
+    private double bodySize;
+    private Date birthday;
+    private boolean onFacebook;
+
+    public Inhabitant() {
+
+    }
+
+    public Inhabitant(final long id, final Gender gender) {
+        this.id = id;
+        this.gender = gender;
+    }
+
+    public long getId() {
+        return this.id;
+    }
+
+    public void setId(final long id) {
+        this.id = id;
+    }
+
+    public Gender getGender() {
+        return this.gender;
+    }
+
+    public void setGender(final Gender gender) {
+        this.gender = gender;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public void setName(final String name) {
+        this.name = name;
+    }
+
+    public double getBodySize() {
+        return this.bodySize;
+    }
+
+    public void setBodySize(final double bodySize) {
+        this.bodySize = bodySize;
+    }
+
+    public Date getBirthday() {
+        return this.birthday;
+    }
+
+    public void setBirthday(final Date birthday) {
+        this.birthday = birthday;
+    }
+
+    public boolean isOnFacebook() {
+        return this.onFacebook;
+    }
+
+    public void setOnFacebook(final boolean onFacebook) {
+        this.onFacebook = onFacebook;
+    }
+
+    @Override
+    public String toString() {
+        return "Inhabitant [id=" + this.id + ", name=" + this.name + "]";
+    }
+
+    public enum Gender {
+        FEMALE, MALE
+    }
+}
@@ -200,6 +200,7 @@ public class DemoUI extends UI {
     private void initFilter(final Grid<Inhabitants> grid) {
         this.filter = new GridCellFilter<>(grid, Inhabitants.class);
         this.filter.setNumberFilter("id", Long.class);
+        this.filter.setLongGetter("id", Inhabitants::getId);
 
         // set gender Combo with custom icons
         CellFilterComponent<ComboBox<Inhabitants.Gender>> genderFilter = this.filter.setComboBoxFilter("gender",
@@ -211,6 +212,7 @@ public class DemoUI extends UI {
         // simple filters
         this.filter.setTextFilter("name", true, true, "name starts with");
          this.filter.setNumberFilter("bodySize", Double.class, "invalid input", "smallest", "biggest");
+        this.filter.setDoubleGetter("bodySize", Inhabitants::getBodySize);
 
         RangeCellFilterComponent<DateField, HorizontalLayout> dateFilter = this.filter.setDateFilter("birthday",
                 new SimpleDateFormat("yyyy-MMM-dd"),
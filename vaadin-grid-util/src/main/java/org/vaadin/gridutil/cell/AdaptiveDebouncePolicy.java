@@ -0,0 +1,87 @@
+package org.vaadin.gridutil.cell;
+
+import com.vaadin.shared.ui.ValueChangeMode;
+
+/**
+ * default {@link DebouncePolicy} of the {@link GridCellFilter}<br>
+ * fast filtering sends each key stroke ({@link ValueChangeMode#EAGER}), moderate filtering waits for a short pause
+ * ({@link ValueChangeMode#TIMEOUT}) and slow filtering waits until typing stopped ({@link ValueChangeMode#LAZY}) with
+ * a timeout growing with the filter duration. Before the first evaluation the duration gets estimated by the amount
+ * of rows.
+ */
+public class AdaptiveDebouncePolicy implements DebouncePolicy {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * rough costs of testing one row used before anything got measured
+     */
+    private static final long ESTIMATED_NANOS_PER_ROW = 100;
+
+    private static final long NANOS_PER_MILLI = 1_000_000;
+
+    private final long eagerMillis;
+
+    private final long lazyMillis;
+
+    private final int timeout;
+
+    private final int maxTimeout;
+
+    /**
+     * EAGER below 5ms, TIMEOUT of 200ms below 100ms, LAZY with up to 1500ms above
+     */
+    public AdaptiveDebouncePolicy() {
+        this(5, 100, 200, 1500);
+    }
+
+    /**
+     * @param eagerMillis filter durations below are sent on each key stroke
+     * @param lazyMillis  filter durations from this one on wait until typing stopped
+     * @param timeout     timeout in millis for durations between eagerMillis and lazyMillis and minimum for lazy
+     * @param maxTimeout  maximum timeout in millis for slow filtering
+     */
+    public AdaptiveDebouncePolicy(final long eagerMillis, final long lazyMillis, final int timeout, final int
+            maxTimeout) {
+        if (eagerMillis > lazyMillis || timeout > maxTimeout) {
+            throw new IllegalArgumentException("eagerMillis needs to be below lazyMillis and timeout below maxTimeout");
+        }
+        this.eagerMillis = eagerMillis;
+        this.lazyMillis = lazyMillis;
+        this.timeout = timeout;
+        this.maxTimeout = maxTimeout;
+    }
+
+    /**
+     * @return measured or estimated filter duration or -1 when unknown
+     */
+    private long getExpectedNanos(final int rows, final long lastFilterNanos) {
+        if (lastFilterNanos >= 0) {
+            return lastFilterNanos;
+        }
+        return rows >= 0 ? rows * ESTIMATED_NANOS_PER_ROW : -1;
+    }
+
+    @Override
+    public ValueChangeMode getValueChangeMode(final int rows, final long lastFilterNanos) {
+        final long nanos = getExpectedNanos(rows, lastFilterNanos);
+        if (nanos < 0) {
+            return ValueChangeMode.TIMEOUT;
+        } else if (nanos < eagerMillis * NANOS_PER_MILLI) {
+            return ValueChangeMode.EAGER;
+        } else if (nanos < lazyMillis * NANOS_PER_MILLI) {
+            return ValueChangeMode.TIMEOUT;
+        }
+        return ValueChangeMode.LAZY;
+    }
+
+    @Override
+    public int getValueChangeTimeout(final int rows, final long lastFilterNanos) {
+        final long nanos = getExpectedNanos(rows, lastFilterNanos);
+        if (nanos < lazyMillis * NANOS_PER_MILLI) {
+            return timeout;
+        }
+        // give the user twice the filter duration to continue typing
+        return (int) Math.min(maxTimeout, timeout + 2 * nanos / NANOS_PER_MILLI);
+    }
+}
@@ -0,0 +1,340 @@
+package org.vaadin.gridutil.cell;
+
+import com.vaadin.data.BeanPropertySet;
+import com.vaadin.data.PropertyDefinition;
+import com.vaadin.data.ValueProvider;
+import com.vaadin.server.SerializableToIntFunction;
+
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.io.Serializable;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * getters of bean properties generated via {@link LambdaMetafactory}<br>
+ * the getter of a {@link BeanPropertySet} reads each value via {@link Method#invoke(Object, Object...)}, which costs
+ * a multiple of a direct call when many rows get filtered. The generated getters call the read method directly and
+ * are cached per bean type and property. Properties of a primitive type additionally get a
+ * {@link SerializableToIntFunction}, {@link SerializableToLongFunction} or {@link SerializableToDoubleFunction} that
+ * doesn't box the value<br>
+ * nested properties and read methods that can't be linked (non public or loaded by another class loader) keep the
+ * getter of the property definition. The returned getters are serializable and get linked again once deserialized.
+ */
+final class BeanAccessors {
+
+    private static final ClassValue<Map<String, Optional<Accessor>>> ACCESSORS = new ClassValue<Map<String,
+            Optional<Accessor>>>() {
+        @Override
+        protected Map<String, Optional<Accessor>> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private BeanAccessors() {
+    }
+
+    /**
+     * @param property definition of a bean property
+     * @return generated getter or the getter of the property definition when none can be generated
+     */
+    @SuppressWarnings("unchecked")
+    static <T> ValueProvider<T, ?> getGetter(final PropertyDefinition<T, ?> property) {
+        final Accessor accessor = resolve(property.getPropertyHolderType(), property.getName());
+        return accessor != null ? new Getter<>(accessor) : property.getGetter();
+    }
+
+    /**
+     * @param property definition of a bean property
+     * @return getter that doesn't box the value or null when the property isn't of a primitive type
+     */
+    static Serializable getPrimitiveGetter(final PropertyDefinition<?, ?> property) {
+        final Accessor accessor = resolve(property.getPropertyHolderType(), property.getName());
+        if (accessor == null || accessor.primitiveGetter == null) {
+            return null;
+        }
+        if (accessor.primitiveGetter instanceof ToIntFunction) {
+            return new IntGetter<>(accessor);
+        } else if (accessor.primitiveGetter instanceof ToLongFunction) {
+            return new LongGetter<>(accessor);
+        }
+        return new DoubleGetter<>(accessor);
+    }
+
+    private static Accessor resolve(final Class<?> beanType, final String property) {
+        return ACCESSORS.get(beanType)
+                        .computeIfAbsent(property, name -> Optional.ofNullable(generate(beanType, name)))
+                        .orElse(null);
+    }
+
+    private static Accessor generate(final Class<?> beanType, final String property) {
+        if (property.contains(".") || !isAccessible(beanType)) {
+            return null;
+        }
+        try {
+            for (PropertyDescriptor descriptor : Introspector.getBeanInfo(beanType)
+                                                             .getPropertyDescriptors()) {
+                final Method readMethod = descriptor.getReadMethod();
+                if (descriptor.getName()
+                              .equals(property) && readMethod != null && Modifier.isPublic(readMethod
+                                                                                                   .getModifiers())
+                        && isAccessible(readMethod.getDeclaringClass())) {
+                    return new Accessor(beanType, property, readMethod);
+                }
+            }
+        } catch (Throwable e) {
+            // can't be linked, the reflective getter of the property definition is used instead
+        }
+        return null;
+    }
+
+    /**
+     * the generated classes are defined by the class loader of this class, so the bean needs to be visible to it
+     */
+    private static boolean isAccessible(final Class<?> type) {
+        if (!Modifier.isPublic(type.getModifiers())) {
+            return false;
+        }
+        try {
+            return Class.forName(type.getName(), false, BeanAccessors.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static Object link(final MethodHandles.Lookup lookup,
+                               final MethodHandle readMethod,
+                               final Class<?> functionType,
+                               final String methodName,
+                               final MethodType erasedType,
+                               final MethodType instantiatedType) throws Throwable {
+        final CallSite site = LambdaMetafactory.metafactory(lookup,
+                                                            methodName,
+                                                            MethodType.methodType(functionType),
+                                                            erasedType,
+                                                            readMethod,
+                                                            instantiatedType);
+        return site.getTarget()
+                   .invoke();
+    }
+
+    /**
+     * generated getters of one property
+     */
+    private static final class Accessor {
+
+        private final Class<?> beanType;
+
+        private final String property;
+
+        private final Function<Object, Object> getter;
+
+        /**
+         * {@link ToIntFunction}, {@link ToLongFunction}, {@link ToDoubleFunction} or null
+         */
+        private final Object primitiveGetter;
+
+        @SuppressWarnings("unchecked")
+        Accessor(final Class<?> beanType, final String property, final Method readMethod) throws Throwable {
+            this.beanType = beanType;
+            this.property = property;
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            final MethodHandle handle = lookup.unreflect(readMethod);
+            final Class<?> returnType = readMethod.getReturnType();
+            getter = (Function<Object, Object>) link(lookup,
+                                                     handle,
+                                                     Function.class,
+                                                     "apply",
+                                                     MethodType.methodType(Object.class, Object.class),
+                                                     MethodType.methodType(MethodType.methodType(returnType)
+                                                                                     .wrap()
+                                                                                     .returnType(), beanType));
+            if (returnType == int.class || returnType == short.class || returnType == byte.class) {
+                primitiveGetter = link(lookup,
+                                       handle,
+                                       ToIntFunction.class,
+                                       "applyAsInt",
+                                       MethodType.methodType(int.class, Object.class),
+                                       MethodType.methodType(int.class, beanType));
+            } else if (returnType == long.class) {
+                primitiveGetter = link(lookup,
+                                       handle,
+                                       ToLongFunction.class,
+                                       "applyAsLong",
+                                       MethodType.methodType(long.class, Object.class),
+                                       MethodType.methodType(long.class, beanType));
+            } else if (returnType == double.class || returnType == float.class) {
+                primitiveGetter = link(lookup,
+                                       handle,
+                                       ToDoubleFunction.class,
+                                       "applyAsDouble",
+                                       MethodType.methodType(double.class, Object.class),
+                                       MethodType.methodType(double.class, beanType));
+            } else {
+                primitiveGetter = null;
+            }
+        }
+    }
+
+    /**
+     * base of the serializable getters: only bean type and property get serialized, the generated functions are
+     * resolved again when deserialized
+     */
+    private abstract static class AccessorReference implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        final Class<?> beanType;
+
+        final String property;
+
+        AccessorReference(final Accessor accessor) {
+            this.beanType = accessor.beanType;
+            this.property = accessor.property;
+        }
+
+        /**
+         * @return the getter of the property definition used when the accessor can't be generated after
+         * deserialization
+         */
+        @SuppressWarnings("unchecked")
+        ValueProvider<Object, Object> getFallback() {
+            final Optional<PropertyDefinition<Object, ?>> definition = ((BeanPropertySet<Object>) BeanPropertySet.get(
+                    beanType)).getProperty(property);
+            if (!definition.isPresent()) {
+                throw new NoSuchElementException(String.format("propertyId %s not available", property));
+            }
+            return (ValueProvider<Object, Object>) definition.get()
+                                                             .getGetter();
+        }
+    }
+
+    private static final class Getter<T> extends AccessorReference implements ValueProvider<T, Object> {
+
+        private static final long serialVersionUID = 1L;
+
+        private transient Function<Object, Object> function;
+
+        Getter(final Accessor accessor) {
+            super(accessor);
+            this.function = accessor.getter;
+        }
+
+        @Override
+        public Object apply(final T bean) {
+            return function.apply(bean);
+        }
+
+        private Object readResolve() {
+            final Accessor accessor = resolve(beanType, property);
+            if (accessor == null) {
+                return getFallback();
+            }
+            function = accessor.getter;
+            return this;
+        }
+    }
+
+    private static final class IntGetter<T> extends AccessorReference implements SerializableToIntFunction<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private transient ToIntFunction<Object> function;
+
+        @SuppressWarnings("unchecked")
+        IntGetter(final Accessor accessor) {
+            super(accessor);
+            this.function = (ToIntFunction<Object>) accessor.primitiveGetter;
+        }
+
+        @Override
+        public int applyAsInt(final T bean) {
+            return function.applyAsInt(bean);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object readResolve() {
+            final Accessor accessor = resolve(beanType, property);
+            if (accessor != null) {
+                function = (ToIntFunction<Object>) accessor.primitiveGetter;
+            } else {
+                final ValueProvider<Object, Object> fallback = getFallback();
+                function = bean -> ((Number) fallback.apply(bean)).intValue();
+            }
+            return this;
+        }
+    }
+
+    private static final class LongGetter<T> extends AccessorReference implements SerializableToLongFunction<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private transient ToLongFunction<Object> function;
+
+        @SuppressWarnings("unchecked")
+        LongGetter(final Accessor accessor) {
+            super(accessor);
+            this.function = (ToLongFunction<Object>) accessor.primitiveGetter;
+        }
+
+        @Override
+        public long applyAsLong(final T bean) {
+            return function.applyAsLong(bean);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object readResolve() {
+            final Accessor accessor = resolve(beanType, property);
+            if (accessor != null) {
+                function = (ToLongFunction<Object>) accessor.primitiveGetter;
+            } else {
+                final ValueProvider<Object, Object> fallback = getFallback();
+                function = bean -> ((Number) fallback.apply(bean)).longValue();
+            }
+            return this;
+        }
+    }
+
+    private static final class DoubleGetter<T> extends AccessorReference implements SerializableToDoubleFunction<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private transient ToDoubleFunction<Object> function;
+
+        @SuppressWarnings("unchecked")
+        DoubleGetter(final Accessor accessor) {
+            super(accessor);
+            this.function = (ToDoubleFunction<Object>) accessor.primitiveGetter;
+        }
+
+        @Override
+        public double applyAsDouble(final T bean) {
+            return function.applyAsDouble(bean);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object readResolve() {
+            final Accessor accessor = resolve(beanType, property);
+            if (accessor != null) {
+                function = (ToDoubleFunction<Object>) accessor.primitiveGetter;
+            } else {
+                final ValueProvider<Object, Object> fallback = getFallback();
+                function = bean -> ((Number) fallback.apply(bean)).doubleValue();
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package org.vaadin.gridutil.cell;
+
+import com.vaadin.server.SerializablePredicate;
+
+import org.vaadin.gridutil.cell.filter.ExpressibleFilter;
+import org.vaadin.gridutil.cell.query.FilterConjunction;
+import org.vaadin.gridutil.cell.query.FilterNode;
+import org.vaadin.gridutil.cell.query.JdbcWhereClause;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+/**
+ * serializable snapshot of all assigned cell filters keyed by propertyId<br>
+ * passed via {@link com.vaadin.data.provider.Query#getFilter()} to a
+ * {@link com.vaadin.data.provider.ConfigurableFilterDataProvider} so that the back-end is able to apply the filters
+ * and only the visible page gets fetched. A property filtered by several columns has several filters that all need
+ * to match.
+ */
+public class CellFilterCriteria implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Map<String, List<SerializablePredicate<?>>> filters;
+
+    /**
+     * @param filters filter per propertyId
+     */
+    public CellFilterCriteria(final Map<String, ? extends SerializablePredicate<?>> filters) {
+        this(new ArrayList<>(filters.entrySet()));
+    }
+
+    /**
+     * @param filters pairs of propertyId and filter, a propertyId may occur several times
+     */
+    public CellFilterCriteria(final List<? extends Entry<String, ? extends SerializablePredicate<?>>> filters) {
+        final Map<String, List<SerializablePredicate<?>>> byProperty = new LinkedHashMap<>();
+        for (Entry<String, ? extends SerializablePredicate<?>> entry : filters) {
+            byProperty.computeIfAbsent(entry.getKey(), propertyId -> new ArrayList<>())
+                      .add(entry.getValue());
+        }
+        for (Entry<String, List<SerializablePredicate<?>>> entry : byProperty.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        this.filters = Collections.unmodifiableMap(byProperty);
+    }
+
+    /**
+     * @return filters per propertyId, usually ones within {@link org.vaadin.gridutil.cell.filter}. Most properties have
+     * a single filter, properties filtered by several columns have one per column
+     */
+    public Map<String, List<SerializablePredicate<?>>> getFilters() {
+        return filters;
+    }
+
+    /**
+     * @return all filtered propertyIds
+     */
+    public Set<String> getPropertyIds() {
+        return filters.keySet();
+    }
+
+    /**
+     * @param propertyId id of property
+     * @return the filters of the property, empty when not filtered
+     */
+    public List<SerializablePredicate<?>> getFilters(final String propertyId) {
+        return filters.getOrDefault(propertyId, Collections.emptyList());
+    }
+
+    /**
+     * translates all filters into a tree of conditions that could be rendered for a back-end, for example by
+     * {@link JdbcWhereClause}
+     *
+     * @return conjunction of one condition per filter
+     * @throws UnsupportedOperationException when a filter does not implement {@link ExpressibleFilter}
+     */
+    public FilterConjunction toFilterNode() {
+        final List<FilterNode> conditions = new ArrayList<>();
+        for (Entry<String, List<SerializablePredicate<?>>> entry : filters.entrySet()) {
+            for (SerializablePredicate<?> filter : entry.getValue()) {
+                if (!(filter instanceof ExpressibleFilter)) {
+                    throw new UnsupportedOperationException(String.format(
+                            "filter of property %s is not expressible: %s",
+                            entry.getKey(),
+                            filter));
+                }
+                conditions.add(((ExpressibleFilter<?>) filter).toCondition(entry.getKey()));
+            }
+        }
+        return new FilterConjunction(conditions);
+    }
+
+    public boolean isEmpty() {
+        return filters.isEmpty();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return filters.equals(((CellFilterCriteria) o).filters);
+    }
+
+    @Override
+    public int hashCode() {
+        return filters.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "CellFilterCriteria" + filters;
+    }
+}
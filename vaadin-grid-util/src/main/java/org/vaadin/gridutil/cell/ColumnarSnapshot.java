@@ -0,0 +1,496 @@
+package org.vaadin.gridutil.cell;
+
+import com.vaadin.data.ValueProvider;
+import com.vaadin.server.SerializablePredicate;
+import com.vaadin.server.SerializableToIntFunction;
+import org.vaadin.gridutil.cell.filter.DateRangeFilter;
+import org.vaadin.gridutil.cell.filter.DoubleRangeFilter;
+import org.vaadin.gridutil.cell.filter.IntRangeFilter;
+import org.vaadin.gridutil.cell.filter.LongRangeFilter;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoublePredicate;
+import java.util.function.LongPredicate;
+
+/**
+ * column-wise copy of the filtered properties of a {@link RowSnapshot}<br>
+ * the value of each row gets extracted once into a primitive array, so that a filter is evaluated by a sequential scan
+ * over that array instead of reading the property of every bean again:
+ * <ul>
+ * <li>Integer, Long, Short and Byte properties into a long[] tested by the {@link IntRangeFilter} or
+ * {@link LongRangeFilter}, Double and Float properties into a double[] tested by the {@link DoubleRangeFilter}</li>
+ * <li>Date and Instant properties as epoch millis into a long[] tested by the {@link DateRangeFilter}</li>
+ * <li>Enum and Boolean properties get dictionary encoded into an int[] of codes. Any filter gets tested once per
+ * distinct value, the result is looked up by the code of each row</li>
+ * <li>all other properties like Strings get dictionary encoded as well as long as they have less distinct values than
+ * 1/{@value #MAX_DISTINCT_RATIO} of the rows, otherwise their filters are left to the row by row scan</li>
+ * </ul>
+ * columns get extracted on first use, rebuilt once the rows of the snapshot changed and updated row by row via
+ * {@link #update(RowSnapshot, int, Object)}. Filters of the dictionary encoded columns need to depend on the value
+ * only.
+ */
+public class ColumnarSnapshot<T> implements Serializable {
+
+    /**
+     * candidates get tested one by one when less than 1/n of the rows are still in question, otherwise the whole
+     * column is scanned and intersected
+     */
+    private static final int SPARSE_RATIO = 16;
+
+    /**
+     * columns of types other than Enum and Boolean only get dictionary encoded while they have at most 1/n distinct
+     * values of the rows, each distinct value then is shared by n rows on average
+     */
+    private static final int MAX_DISTINCT_RATIO = 16;
+
+    private static final long serialVersionUID = 1L;
+
+    private final Map<GridCellFilter<T>.CellFilterId, Column<T>> columns = new HashMap<>();
+
+    private int generation;
+
+    /**
+     * evaluates the filter on the column of the given property
+     *
+     * @param snapshot        rows to evaluate
+     * @param cellFilterId    filtered property
+     * @param primitiveGetter registered {@link SerializableToIntFunction}, {@link SerializableToLongFunction} or
+     *                        {@link SerializableToDoubleFunction} of the property or null
+     * @param filter          assigned cell filter of the property
+     * @param candidates      rows that are still in question, null for all rows
+     * @return all candidate rows matching the filter or null when the filter can't be evaluated column-wise
+     */
+    public BitSet resolve(final RowSnapshot<T> snapshot,
+                          final GridCellFilter<T>.CellFilterId cellFilterId,
+                          final Serializable primitiveGetter,
+                          final SerializablePredicate<?> filter,
+                          final BitSet candidates) {
+        final Object[] rows = snapshot.getRows();
+        if (generation != snapshot.getGeneration()) {
+            columns.clear();
+            generation = snapshot.getGeneration();
+        }
+        Column<T> column = columns.get(cellFilterId);
+        if (column == null) {
+            column = createColumn(cellFilterId, primitiveGetter);
+            column.build(rows);
+            columns.put(cellFilterId, column);
+        }
+        if (candidates != null && candidates.cardinality() * SPARSE_RATIO < rows.length) {
+            return column.resolve(filter, candidates);
+        }
+        final BitSet result = column.resolve(filter, null);
+        if (result != null && candidates != null) {
+            result.and(candidates);
+        }
+        return result;
+    }
+
+    /**
+     * updates the extracted columns after a single item got refreshed
+     *
+     * @param snapshot rows the columns were extracted from
+     * @param row      position of the item
+     * @param item     the refreshed item
+     */
+    public void update(final RowSnapshot<T> snapshot, final int row, final T item) {
+        if (generation != snapshot.getGeneration()) {
+            // got rebuilt in the meantime, columns are extracted again on next use
+            return;
+        }
+        for (Column<T> column : columns.values()) {
+            column.set(row, item);
+        }
+    }
+
+    /**
+     * drops all extracted columns
+     */
+    public void clear() {
+        columns.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Column<T> createColumn(final GridCellFilter<T>.CellFilterId cellFilterId,
+                                              final Serializable registeredGetter) {
+        final Class<?> type = cellFilterId.getPropertyType();
+        final ValueProvider<T, Object> getter = (ValueProvider<T, Object>) cellFilterId.getGetter();
+        final Serializable primitiveGetter = registeredGetter != null ?
+                                             registeredGetter :
+                                             cellFilterId.getPrimitiveGetter();
+        if (Integer.class.equals(type) || Long.class.equals(type) || Short.class.equals(type) || Byte.class.equals(
+                type)) {
+            return new LongColumn<>(getter, primitiveGetter, LongColumn.NUMBER);
+        } else if (Double.class.equals(type) || Float.class.equals(type)) {
+            return new DoubleColumn<>(getter, primitiveGetter);
+        } else if (Date.class.isAssignableFrom(type)) {
+            return new LongColumn<>(getter, null, LongColumn.DATE);
+        } else if (Instant.class.equals(type)) {
+            return new LongColumn<>(getter, null, LongColumn.INSTANT);
+        }
+        final boolean bounded = Enum.class.isAssignableFrom(type) || Boolean.class.equals(type);
+        return new DictionaryColumn<>(getter, bounded);
+    }
+
+    /**
+     * extracted values of one property
+     */
+    private abstract static class Column<T> implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        final ValueProvider<T, Object> getter;
+
+        int size;
+
+        Column(final ValueProvider<T, Object> getter) {
+            this.getter = getter;
+        }
+
+        @SuppressWarnings("unchecked")
+        void build(final Object[] rows) {
+            size = rows.length;
+            allocate(size);
+            for (int i = 0; i < rows.length; i++) {
+                set(i, (T) rows[i]);
+            }
+        }
+
+        abstract void allocate(int size);
+
+        abstract void set(int row, T item);
+
+        /**
+         * @param candidates rows to test, null to scan the whole column
+         * @return matching rows or null when the filter is not supported by this column
+         */
+        abstract BitSet resolve(SerializablePredicate<?> filter, BitSet candidates);
+    }
+
+    private static final class LongColumn<T> extends Column<T> {
+
+        static final int NUMBER = 0;
+        static final int DATE = 1;
+        static final int INSTANT = 2;
+
+        private static final long serialVersionUID = 1L;
+
+        private final Serializable primitiveGetter;
+
+        private final int kind;
+
+        private long[] values;
+
+        private BitSet nullRows;
+
+        LongColumn(final ValueProvider<T, Object> getter, final Serializable primitiveGetter, final int kind) {
+            super(getter);
+            this.primitiveGetter = primitiveGetter instanceof SerializableToLongFunction
+                    || primitiveGetter instanceof SerializableToIntFunction ? primitiveGetter : null;
+            this.kind = kind;
+        }
+
+        @Override
+        void allocate(final int size) {
+            values = new long[size];
+            nullRows = new BitSet(size);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void set(final int row, final T item) {
+            if (primitiveGetter instanceof SerializableToLongFunction) {
+                values[row] = ((SerializableToLongFunction<T>) primitiveGetter).applyAsLong(item);
+                return;
+            } else if (primitiveGetter instanceof SerializableToIntFunction) {
+                values[row] = ((SerializableToIntFunction<T>) primitiveGetter).applyAsInt(item);
+                return;
+            }
+            final Object value = getter.apply(item);
+            nullRows.set(row, value == null);
+            if (value == null) {
+                values[row] = 0;
+            } else if (kind == DATE) {
+                values[row] = ((Date) value).getTime();
+            } else if (kind == INSTANT) {
+                values[row] = ((Instant) value).toEpochMilli();
+            } else {
+                values[row] = ((Number) value).longValue();
+            }
+        }
+
+        @Override
+        BitSet resolve(final SerializablePredicate<?> filter, final BitSet candidates) {
+            final LongPredicate predicate = toPredicate(filter);
+            if (predicate == null) {
+                return null;
+            }
+            final long[] values = this.values;
+            final BitSet result;
+            if (candidates == null) {
+                // the bits of the matching rows get set word by word without branching on the result
+                final long[] words = new long[(size + 63) >>> 6];
+                for (int i = 0; i < size; i++) {
+                    words[i >>> 6] |= (predicate.test(values[i]) ? 1L : 0L) << i;
+                }
+                result = BitSet.valueOf(words);
+            } else {
+                result = new BitSet(size);
+                for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+                    if (predicate.test(values[i])) {
+                        result.set(i);
+                    }
+                }
+            }
+            // null values never match a range
+            result.andNot(nullRows);
+            return result;
+        }
+
+        /**
+         * @return predicate that tests the extracted values like the filter tests the property values
+         */
+        private LongPredicate toPredicate(final SerializablePredicate<?> filter) {
+            if (kind == NUMBER) {
+                if (filter instanceof IntRangeFilter) {
+                    final IntRangeFilter intFilter = (IntRangeFilter) filter;
+                    return value -> intFilter.testInt((int) value);
+                } else if (filter instanceof LongRangeFilter) {
+                    return ((LongRangeFilter) filter)::testLong;
+                } else if (filter instanceof DoubleRangeFilter) {
+                    final DoubleRangeFilter doubleFilter = (DoubleRangeFilter) filter;
+                    return value -> doubleFilter.testDouble(value);
+                }
+            } else if (filter instanceof DateRangeFilter) {
+                return ((DateRangeFilter) filter)::testLong;
+            }
+            return null;
+        }
+    }
+
+    private static final class DoubleColumn<T> extends Column<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final SerializableToDoubleFunction<T> primitiveGetter;
+
+        private double[] values;
+
+        private BitSet nullRows;
+
+        @SuppressWarnings("unchecked")
+        DoubleColumn(final ValueProvider<T, Object> getter, final Serializable primitiveGetter) {
+            super(getter);
+            this.primitiveGetter = primitiveGetter instanceof SerializableToDoubleFunction ?
+                                   (SerializableToDoubleFunction<T>) primitiveGetter :
+                                   null;
+        }
+
+        @Override
+        void allocate(final int size) {
+            values = new double[size];
+            nullRows = new BitSet(size);
+        }
+
+        @Override
+        void set(final int row, final T item) {
+            if (primitiveGetter != null) {
+                values[row] = primitiveGetter.applyAsDouble(item);
+                return;
+            }
+            final Object value = getter.apply(item);
+            nullRows.set(row, value == null);
+            values[row] = value == null ? 0 : ((Number) value).doubleValue();
+        }
+
+        @Override
+        BitSet resolve(final SerializablePredicate<?> filter, final BitSet candidates) {
+            final DoublePredicate predicate = toPredicate(filter);
+            if (predicate == null) {
+                return null;
+            }
+            final double[] values = this.values;
+            final BitSet result;
+            if (candidates == null) {
+                // the bits of the matching rows get set word by word without branching on the result
+                final long[] words = new long[(size + 63) >>> 6];
+                for (int i = 0; i < size; i++) {
+                    words[i >>> 6] |= (predicate.test(values[i]) ? 1L : 0L) << i;
+                }
+                result = BitSet.valueOf(words);
+            } else {
+                result = new BitSet(size);
+                for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+                    if (predicate.test(values[i])) {
+                        result.set(i);
+                    }
+                }
+            }
+            // null values never match a range
+            result.andNot(nullRows);
+            return result;
+        }
+
+        /**
+         * @return predicate that tests the extracted values like the filter tests the property values
+         */
+        private DoublePredicate toPredicate(final SerializablePredicate<?> filter) {
+            if (filter instanceof DoubleRangeFilter) {
+                return ((DoubleRangeFilter) filter)::testDouble;
+            } else if (filter instanceof LongRangeFilter) {
+                final LongRangeFilter longFilter = (LongRangeFilter) filter;
+                return value -> longFilter.testLong((long) value);
+            } else if (filter instanceof IntRangeFilter) {
+                final IntRangeFilter intFilter = (IntRangeFilter) filter;
+                return value -> intFilter.testInt((int) value);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * dictionary encoded values, the codes of values no row refers to anymore get reused. Columns that exceed
+     * {@link #MAX_DISTINCT_RATIO} while being extracted or updated drop their codes and resolve no filter
+     */
+    private static final class DictionaryColumn<T> extends Column<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private static final byte UNKNOWN = 0;
+        private static final byte MATCHED = 1;
+        private static final byte NOT_MATCHED = 2;
+
+        /**
+         * Enum and Boolean columns are always encoded
+         */
+        private final boolean bounded;
+
+        private int maxDistinct;
+
+        private int[] codes;
+
+        private Map<Object, Integer> codesByValue;
+
+        private List<Object> dictionary;
+
+        /**
+         * amount of rows per code
+         */
+        private int[] counts;
+
+        /**
+         * codes no row refers to, reused by the next new value
+         */
+        private BitSet freeCodes;
+
+        DictionaryColumn(final ValueProvider<T, Object> getter, final boolean bounded) {
+            super(getter);
+            this.bounded = bounded;
+        }
+
+        @Override
+        void allocate(final int size) {
+            maxDistinct = bounded ? Integer.MAX_VALUE : size / MAX_DISTINCT_RATIO;
+            codes = new int[size];
+            Arrays.fill(codes, -1);
+            codesByValue = new HashMap<>();
+            dictionary = new ArrayList<>();
+            counts = new int[8];
+            freeCodes = new BitSet();
+        }
+
+        @Override
+        void set(final int row, final T item) {
+            if (codes == null) {
+                // too many distinct values
+                return;
+            }
+            final Object value = getter.apply(item);
+            final int oldCode = codes[row];
+            Integer code = codesByValue.get(value);
+            if (code == null) {
+                if (codesByValue.size() >= maxDistinct && (oldCode < 0 || counts[oldCode] > 1)) {
+                    release();
+                    return;
+                }
+                code = add(value);
+            }
+            if (oldCode == code) {
+                return;
+            }
+            codes[row] = code;
+            counts[code]++;
+            if (oldCode >= 0 && --counts[oldCode] == 0) {
+                codesByValue.remove(dictionary.get(oldCode));
+                dictionary.set(oldCode, null);
+                freeCodes.set(oldCode);
+            }
+        }
+
+        private int add(final Object value) {
+            int code = freeCodes.nextSetBit(0);
+            if (code >= 0) {
+                freeCodes.clear(code);
+                dictionary.set(code, value);
+            } else {
+                code = dictionary.size();
+                dictionary.add(value);
+                if (code == counts.length) {
+                    counts = Arrays.copyOf(counts, counts.length * 2);
+                }
+            }
+            codesByValue.put(value, code);
+            return code;
+        }
+
+        private void release() {
+            codes = null;
+            codesByValue = null;
+            dictionary = null;
+            counts = null;
+            freeCodes = null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        BitSet resolve(final SerializablePredicate<?> filter, final BitSet candidates) {
+            if (codes == null) {
+                return null;
+            }
+            final SerializablePredicate<Object> predicate = (SerializablePredicate<Object>) filter;
+            final int[] codes = this.codes;
+            // each distinct value gets tested once when it occurs the first time
+            final byte[] matches = new byte[dictionary.size()];
+            final BitSet result = new BitSet(size);
+            if (candidates == null) {
+                for (int i = 0; i < size; i++) {
+                    if (matches(predicate, matches, codes[i])) {
+                        result.set(i);
+                    }
+                }
+            } else {
+                for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+                    if (matches(predicate, matches, codes[i])) {
+                        result.set(i);
+                    }
+                }
+            }
+            return result;
+        }
+
+        private boolean matches(final SerializablePredicate<Object> predicate, final byte[] matches, final int code) {
+            if (matches[code] == UNKNOWN) {
+                matches[code] = predicate.test(dictionary.get(code)) ? MATCHED : NOT_MATCHED;
+            }
+            return matches[code] == MATCHED;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.vaadin.gridutil.cell;
+
+import com.vaadin.shared.ui.ValueChangeMode;
+
+import java.io.Serializable;
+
+/**
+ * decides how often the text inputs of the {@link GridCellFilter} send their value to the server<br>
+ * gets asked again after each filter evaluation, so that the debounce can follow the costs of filtering
+ */
+public interface DebouncePolicy extends Serializable {
+
+    /**
+     * @param rows            amount of rows of the grid or -1 when unknown
+     * @param lastFilterNanos duration of the last filter evaluation or -1 when nothing got filtered yet
+     * @return mode of the text inputs
+     */
+    ValueChangeMode getValueChangeMode(int rows, long lastFilterNanos);
+
+    /**
+     * @param rows            amount of rows of the grid or -1 when unknown
+     * @param lastFilterNanos duration of the last filter evaluation or -1 when nothing got filtered yet
+     * @return timeout in millis used for {@link ValueChangeMode#TIMEOUT} and {@link ValueChangeMode#LAZY}
+     */
+    int getValueChangeTimeout(int rows, long lastFilterNanos);
+
+    /**
+     * @param mode    used for all text inputs
+     * @param timeout in millis used for all text inputs
+     * @return policy that doesn't adapt
+     */
+    static DebouncePolicy fixed(final ValueChangeMode mode, final int timeout) {
+        return new DebouncePolicy() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public ValueChangeMode getValueChangeMode(final int rows, final long lastFilterNanos) {
+                return mode;
+            }
+
+            @Override
+            public int getValueChangeTimeout(final int rows, final long lastFilterNanos) {
+                return timeout;
+            }
+        };
+    }
+}
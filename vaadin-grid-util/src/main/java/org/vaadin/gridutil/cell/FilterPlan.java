@@ -0,0 +1,225 @@
+package org.vaadin.gridutil.cell;
+
+import com.vaadin.data.ValueProvider;
+import com.vaadin.server.SerializablePredicate;
+import com.vaadin.server.SerializableToIntFunction;
+import org.vaadin.gridutil.cell.filter.DoubleValueFilter;
+import org.vaadin.gridutil.cell.filter.IntValueFilter;
+import org.vaadin.gridutil.cell.filter.LongValueFilter;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * compiled form of all assigned cell filters<br>
+ * getter and predicate of each filter are combined into one test kept in a flat array so that an item gets tested
+ * within one tight loop that stops at the first filter not matching. When a primitive getter is registered for the
+ * property or the bean property is of a primitive type and the filter is able to test primitives the value doesn't get
+ * boxed<br>
+ * plans of up to three filters keep their tests in separate fields that are called one after another, so that each
+ * position has a call site of its own instead of sharing the megamorphic call within the loop. A site still sees the
+ * tests of all plans having a filter at that position, so only the hop from getter to predicate within a test is
+ * guaranteed to be monomorphic<br>
+ * filters are ordered by their {@link FilterStatistics} so that the cheapest and most selective one runs first. Every
+ * {@link #SAMPLE_INTERVAL}th item gets tested by all filters and timed to keep the statistics up to date.
+ */
+public class FilterPlan<T> implements SerializablePredicate<T> {
+
+    /**
+     * every n-th tested item is sampled for the statistics - needs to be a power of two
+     */
+    public static final int SAMPLE_INTERVAL = 16;
+
+    private static final long serialVersionUID = 1L;
+
+    private final GridCellFilter.CellFilterId[] cellFilterIds;
+
+    private final SerializablePredicate<T>[] tests;
+
+    private final SerializablePredicate<T> first;
+
+    private final SerializablePredicate<T> second;
+
+    private final SerializablePredicate<T> third;
+
+    private final FilterStatistics[] statistics;
+
+    private int sampleCounter;
+
+    /**
+     * compiles the given filters ordered by their statistics
+     *
+     * @param filters    predicate per {@link GridCellFilter.CellFilterId}
+     * @param statistics statistics per {@link GridCellFilter.CellFilterId}, missing entries get added
+     */
+    public FilterPlan(final Map<GridCellFilter<T>.CellFilterId, SerializablePredicate> filters,
+                      final Map<GridCellFilter<T>.CellFilterId, FilterStatistics> statistics) {
+        this(filters, statistics, Collections.emptyMap());
+    }
+
+    /**
+     * compiles the given filters ordered by their statistics
+     *
+     * @param filters          predicate per {@link GridCellFilter.CellFilterId}
+     * @param statistics       statistics per {@link GridCellFilter.CellFilterId}, missing entries get added
+     * @param primitiveGetters {@link SerializableToIntFunction}, {@link SerializableToLongFunction} or
+     *                         {@link SerializableToDoubleFunction} per propertyId, bean properties of a primitive type
+     *                         use the getter of their {@link GridCellFilter.CellFilterId} otherwise
+     */
+    @SuppressWarnings("unchecked")
+    public FilterPlan(final Map<GridCellFilter<T>.CellFilterId, SerializablePredicate> filters,
+                      final Map<GridCellFilter<T>.CellFilterId, FilterStatistics> statistics,
+                      final Map<String, ? extends Serializable> primitiveGetters) {
+        final List<Entry<GridCellFilter<T>.CellFilterId, SerializablePredicate>> entries = new
+                ArrayList<>(filters.entrySet());
+        for (Entry<GridCellFilter<T>.CellFilterId, SerializablePredicate> entry : entries) {
+            statistics.computeIfAbsent(entry.getKey(), id -> new FilterStatistics());
+        }
+        entries.sort(Comparator.comparingDouble(entry -> statistics.get(entry.getKey())
+                                                                   .rank(entry.getValue())));
+
+        final int size = entries.size();
+        this.cellFilterIds = new GridCellFilter.CellFilterId[size];
+        this.tests = new SerializablePredicate[size];
+        this.statistics = new FilterStatistics[size];
+        for (int i = 0; i < size; i++) {
+            final Entry<GridCellFilter<T>.CellFilterId, SerializablePredicate> entry = entries.get(i);
+            cellFilterIds[i] = entry.getKey();
+            final Serializable primitiveGetter = primitiveGetters.get(entry.getKey().getPropertyId());
+            tests[i] = compile((ValueProvider<T, Object>) entry.getKey().getGetter(),
+                               entry.getValue(),
+                               primitiveGetter != null ? primitiveGetter : entry.getKey().getPrimitiveGetter());
+            this.statistics[i] = statistics.get(entry.getKey());
+        }
+        this.first = size > 0 ? tests[0] : null;
+        this.second = size > 1 ? tests[1] : null;
+        this.third = size > 2 ? tests[2] : null;
+    }
+
+    private FilterPlan(final FilterPlan<T> plan) {
+        this.cellFilterIds = plan.cellFilterIds;
+        this.tests = plan.tests;
+        this.first = plan.first;
+        this.second = plan.second;
+        this.third = plan.third;
+        this.statistics = new FilterStatistics[plan.statistics.length];
+        for (int i = 0; i < statistics.length; i++) {
+            statistics[i] = new FilterStatistics();
+        }
+    }
+
+    /**
+     * combines getter and predicate, preferring the primitive getter when the predicate is able to test primitives
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> SerializablePredicate<T> compile(final ValueProvider<T, Object> getter,
+                                                        final SerializablePredicate<Object> predicate,
+                                                        final Serializable primitiveGetter) {
+        if (primitiveGetter instanceof SerializableToIntFunction && predicate instanceof IntValueFilter) {
+            final SerializableToIntFunction<T> intGetter = (SerializableToIntFunction<T>) primitiveGetter;
+            final IntValueFilter filter = (IntValueFilter) predicate;
+            return item -> filter.testInt(intGetter.applyAsInt(item));
+        } else if (primitiveGetter instanceof SerializableToLongFunction && predicate instanceof LongValueFilter) {
+            final SerializableToLongFunction<T> longGetter = (SerializableToLongFunction<T>) primitiveGetter;
+            final LongValueFilter filter = (LongValueFilter) predicate;
+            return item -> filter.testLong(longGetter.applyAsLong(item));
+        } else if (primitiveGetter instanceof SerializableToDoubleFunction && predicate instanceof
+                DoubleValueFilter) {
+            final SerializableToDoubleFunction<T> doubleGetter = (SerializableToDoubleFunction<T>) primitiveGetter;
+            final DoubleValueFilter filter = (DoubleValueFilter) predicate;
+            return item -> filter.testDouble(doubleGetter.applyAsDouble(item));
+        }
+        return item -> predicate.test(getter.apply(item));
+    }
+
+    /**
+     * creates a copy sharing the compiled filters but collecting its own statistics, so that it can be used by
+     * another thread<br>
+     * the collected statistics get added back via {@link #join(FilterPlan)}
+     *
+     * @return copy of this plan
+     */
+    public FilterPlan<T> fork() {
+        return new FilterPlan<>(this);
+    }
+
+    /**
+     * adds the statistics collected by a forked plan to the statistics of this plan
+     *
+     * @param fork plan created by {@link #fork()}
+     */
+    public void join(final FilterPlan<T> fork) {
+        for (int i = 0; i < statistics.length; i++) {
+            statistics[i].merge(fork.statistics[i]);
+        }
+    }
+
+    /**
+     * @return amount of compiled filters
+     */
+    public int size() {
+        return tests.length;
+    }
+
+    /**
+     * @param index position within the plan
+     * @return id of the filter at the given position
+     */
+    public GridCellFilter<T>.CellFilterId getCellFilterId(final int index) {
+        return cellFilterIds[index];
+    }
+
+    /**
+     * @param index position within the plan
+     * @return statistics the filter at the given position records to
+     */
+    FilterStatistics getStatistics(final int index) {
+        return statistics[index];
+    }
+
+    @Override
+    public boolean test(final T item) {
+        if ((++sampleCounter & (SAMPLE_INTERVAL - 1)) == 0) {
+            return testSampled(item);
+        }
+        final SerializablePredicate<T>[] tests = this.tests;
+        switch (tests.length) {
+            case 0:
+                return true;
+            case 1:
+                return first.test(item);
+            case 2:
+                return first.test(item) && second.test(item);
+            case 3:
+                return first.test(item) && second.test(item) && third.test(item);
+            default:
+                break;
+        }
+        for (int i = 0; i < tests.length; i++) {
+            if (!tests[i].test(item)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * tests the item with every filter without stopping at the first one not matching, so that the sampled pass rates
+     * don't depend on the current order of the filters
+     */
+    private boolean testSampled(final T item) {
+        boolean matched = true;
+        for (int i = 0; i < tests.length; i++) {
+            final long start = System.nanoTime();
+            final boolean passed = tests[i].test(item);
+            statistics[i].record(passed, System.nanoTime() - start);
+            matched &= passed;
+        }
+        return matched;
+    }
+}
@@ -0,0 +1,66 @@
+package org.vaadin.gridutil.cell;
+
+import com.vaadin.server.SerializablePredicate;
+
+import java.io.Serializable;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * bounded least recently used cache of matching rows per filter state<br>
+ * the key is a copy of the assigned filters, so filters are compared by their parameters when they implement equals.
+ * All entries belong to one generation of a {@link RowSnapshot} and get dropped once it changes.
+ */
+class FilterResultCache<K> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final LinkedHashMap<Map<K, SerializablePredicate>, BitSet> entries;
+
+    private int generation;
+
+    FilterResultCache(final int maxEntries) {
+        this.entries = new LinkedHashMap<Map<K, SerializablePredicate>, BitSet>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Map<K, SerializablePredicate>, BitSet> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @param filters    the assigned filters
+     * @param generation of the snapshot the rows belong to
+     * @return copy of the cached matching rows or null when not cached
+     */
+    BitSet get(final Map<K, SerializablePredicate> filters, final int generation) {
+        if (this.generation != generation) {
+            clear();
+            this.generation = generation;
+            return null;
+        }
+        final BitSet rows = entries.get(filters);
+        return rows != null ? (BitSet) rows.clone() : null;
+    }
+
+    /**
+     * @param filters    the assigned filters
+     * @param generation of the snapshot the rows belong to
+     * @param rows       positions of the matching rows, a copy gets cached
+     */
+    void put(final Map<K, SerializablePredicate> filters, final int generation, final BitSet rows) {
+        if (this.generation != generation) {
+            clear();
+            this.generation = generation;
+        }
+        entries.put(new HashMap<>(filters), (BitSet) rows.clone());
+    }
+
+    void clear() {
+        entries.clear();
+    }
+}
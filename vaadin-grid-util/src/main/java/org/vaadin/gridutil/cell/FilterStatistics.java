@@ -0,0 +1,121 @@
+package org.vaadin.gridutil.cell;
+
+import com.vaadin.server.SerializablePredicate;
+import org.vaadin.gridutil.cell.filter.SimpleStringFilter;
+
+import java.io.Serializable;
+
+/**
+ * runtime statistics of one cell filter collected while filtering<br>
+ * used by {@link FilterPlan} to evaluate the cheapest and most selective filter first
+ */
+public class FilterStatistics implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * estimated costs in nanos for filters without samples
+     */
+    private static final double DEFAULT_COST = 50d;
+
+    private static final double DEFAULT_STRING_COST = 200d;
+
+    /**
+     * pass rate assumed for filters without samples
+     */
+    private static final double DEFAULT_PASS_RATE = 0.5d;
+
+    private long evaluations;
+
+    private long passes;
+
+    private long nanos;
+
+    void record(final boolean passed, final long elapsedNanos) {
+        evaluations++;
+        if (passed) {
+            passes++;
+        }
+        nanos += elapsedNanos;
+    }
+
+    /**
+     * adds the counters of statistics collected separately, e.g. by a chunk of a parallel scan
+     */
+    void merge(final FilterStatistics other) {
+        evaluations += other.evaluations;
+        passes += other.passes;
+        nanos += other.nanos;
+    }
+
+    /**
+     * halves all counters so that recent samples outweigh older ones, used when the filter value gets replaced
+     */
+    void decay() {
+        evaluations >>= 1;
+        passes >>= 1;
+        nanos >>= 1;
+    }
+
+    /**
+     * @return amount of sampled evaluations
+     */
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    /**
+     * @return amount of sampled evaluations that matched
+     */
+    public long getPasses() {
+        return passes;
+    }
+
+    /**
+     * @return nanos of all sampled evaluations
+     */
+    long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * @return share of sampled evaluations that matched or -1 when nothing got sampled yet
+     */
+    public double getPassRate() {
+        return evaluations == 0 ? -1 : (double) passes / evaluations;
+    }
+
+    /**
+     * @return average nanos of one evaluation (getter and predicate) or -1 when nothing got sampled yet
+     */
+    public double getAverageNanos() {
+        return evaluations == 0 ? -1 : (double) nanos / evaluations;
+    }
+
+    /**
+     * ranks a filter by costs per rejected item - the lower the earlier it should get evaluated
+     *
+     * @param filter the predicate the statistics belong to, used for estimates when nothing got sampled yet
+     * @return rank of the filter
+     */
+    double rank(final SerializablePredicate<?> filter) {
+        final double cost;
+        final double passRate;
+        if (evaluations == 0) {
+            cost = filter instanceof SimpleStringFilter ? DEFAULT_STRING_COST : DEFAULT_COST;
+            passRate = DEFAULT_PASS_RATE;
+        } else {
+            cost = getAverageNanos();
+            passRate = getPassRate();
+        }
+        return cost / Math.max(1d - passRate, 0.001d);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("FilterStatistics[evaluations=%d, passRate=%.3f, averageNanos=%.1f]",
+                             evaluations,
+                             getPassRate(),
+                             getAverageNanos());
+    }
+}
@@ -4,34 +4,72 @@ import com.vaadin.data.BeanPropertySet;
 import com.vaadin.data.PropertyDefinition;
 import com.vaadin.data.PropertySet;
 import com.vaadin.data.ValueProvider;
+import com.vaadin.data.provider.ConfigurableFilterDataProvider;
+import com.vaadin.data.provider.DataChangeEvent;
+import com.vaadin.data.provider.DataChangeEvent.DataRefreshEvent;
 import com.vaadin.data.provider.InMemoryDataProvider;
-import com.vaadin.data.provider.InMemoryDataProviderHelpers;
+import com.vaadin.data.provider.ListDataProvider;
 import com.vaadin.icons.VaadinIcons;
 import com.vaadin.server.FontIcon;
 import com.vaadin.server.SerializablePredicate;
+import com.vaadin.server.SerializableToIntFunction;
 import com.vaadin.server.Sizeable.Unit;
+import com.vaadin.shared.Registration;
 import com.vaadin.shared.ui.ValueChangeMode;
 import com.vaadin.ui.ComboBox;
 import com.vaadin.ui.DateField;
 import com.vaadin.ui.Grid;
 import com.vaadin.ui.HorizontalLayout;
 import com.vaadin.ui.TextField;
+import com.vaadin.ui.UI;
 import com.vaadin.ui.components.grid.HeaderRow;
 import com.vaadin.ui.themes.ValoTheme;
 import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import org.vaadin.gridutil.cell.filter.DoubleRangeFilter;
 import org.vaadin.gridutil.cell.filter.EqualFilter;
+import org.vaadin.gridutil.cell.filter.ExpressibleFilter;
+import org.vaadin.gridutil.cell.filter.IntRangeFilter;
+import org.vaadin.gridutil.cell.filter.LongRangeFilter;
+import org.vaadin.gridutil.cell.filter.NarrowableFilter;
 import org.vaadin.gridutil.cell.filter.SimpleStringFilter;
+import org.vaadin.gridutil.cell.index.ColumnIndex;
+import org.vaadin.gridutil.cell.index.EqualityIndex;
+import org.vaadin.gridutil.cell.index.NormalizedTextIndex;
+import org.vaadin.gridutil.cell.index.PrefixIndex;
+import org.vaadin.gridutil.cell.index.RangeIndex;
+import org.vaadin.gridutil.cell.metrics.FilterMetricsSink;
+import org.vaadin.gridutil.cell.metrics.NoOpFilterMetricsSink;
+import org.vaadin.gridutil.cell.metrics.SlowFilterEvent;
 
 
 /**
@@ -44,6 +82,10 @@ public class GridCellFilter<T> implements Serializable {
 
     public static String STYLENAME_GRIDCELLFILTER = "gridcellfilter";
 
+    private static final int MIN_PARALLEL_CHUNK_SIZE = 4096;
+
+    private static final Logger LOGGER = Logger.getLogger(GridCellFilter.class.getName());
+
     private Grid grid;
 
     private HeaderRow filterHeaderRow;
@@ -52,6 +94,64 @@ public class GridCellFilter<T> implements Serializable {
 
     private Map<CellFilterId, SerializablePredicate> assignedFilters;
 
+    private Map<CellFilterId, FilterStatistics> filterStatistics;
+
+    private RowSnapshot<T> rowSnapshot;
+
+    private Registration dataProviderRegistration;
+
+    private FilterPlan<T> filterPlan;
+
+    private RowSetFilter<T> rowSetFilter;
+
+    private BitSet matchedRows;
+
+    private Map<CellFilterId, SerializablePredicate> matchedFilters;
+
+    private int matchedGeneration;
+
+    private boolean applyingFilter;
+
+    private Map<CellFilterId, ColumnIndex> columnIndexes;
+
+    private Set<CellFilterId> builtIndexes;
+
+    private Map<String, Serializable> primitiveGetters;
+
+    private int indexGeneration;
+
+    private ColumnarSnapshot<T> columnarSnapshot;
+
+    private int parallelThreshold;
+
+    private transient Executor parallelExecutor;
+
+    private ListDataProvider<T> sourceDataProvider;
+
+    private Registration sourceRegistration;
+
+    private FilterResultCache<CellFilterId> resultCache;
+
+    private transient Executor asyncExecutor;
+
+    private transient AtomicBoolean asyncScan;
+
+    private DebouncePolicy debouncePolicy = new AdaptiveDebouncePolicy();
+
+    private List<TextField> debouncedFields;
+
+    private long lastFilterNanos = -1;
+
+    private FilterMetricsSink metricsSink = NoOpFilterMetricsSink.INSTANCE;
+
+    private long slowFilterThresholdNanos;
+
+    private int batchDepth;
+
+    private boolean batchRefreshPending;
+
+    private boolean batchNotifyPending;
+
     private boolean visible = true;
 
     private List<CellFilterChangedListener> cellFilterChangedListeners;
@@ -61,25 +161,59 @@ public class GridCellFilter<T> implements Serializable {
     /**
      * keeps link to Grid and added HeaderRow<br>
      * afterwards you need to set filter specification for each row<br>
-     * please take care that your Container implements Filterable!
+     * the grid needs either an {@link InMemoryDataProvider} or a {@link ConfigurableFilterDataProvider} accepting
+     * {@link CellFilterCriteria} as filter. In the latter case the filters are passed via
+     * {@link com.vaadin.data.provider.Query#getFilter()} and have to be applied by the back-end. The filter type of
+     * the data provider can't be checked at runtime, a data provider with another filter type fails on the first
+     * filter change. Use {@link #GridCellFilter(Grid, Class, ConfigurableFilterDataProvider)} to have it checked by
+     * the compiler
      *
-     * @param grid that should get added a HeaderRow that this component will manage
+     * @param grid     that should get added a HeaderRow that this component will manage
+     * @param beanType type of the grid items
      */
     public GridCellFilter(Grid<T> grid, Class<T> beanType) {
         this.grid = grid;
         filterHeaderRow = grid.appendHeaderRow();
         cellFilters = new HashMap<>();
         assignedFilters = new HashMap<>();
+        filterStatistics = new HashMap<>();
+        columnIndexes = new HashMap<>();
+        builtIndexes = new HashSet<>();
+        primitiveGetters = new HashMap<>();
         cellFilterChangedListeners = new ArrayList<>();
+        debouncedFields = new ArrayList<>();
 
 
-        if (!(grid.getDataProvider() instanceof InMemoryDataProvider)) {
-            throw new RuntimeException("works only with InMemoryDataProvider");
+        if (!(grid.getDataProvider() instanceof ConfigurableFilterDataProvider)) {
+            throw new RuntimeException("works only with InMemoryDataProvider or ConfigurableFilterDataProvider");
         } else {
             propertySet = (BeanPropertySet<T>) BeanPropertySet.get(beanType);
         }
     }
 
+    /**
+     * sets the back-end data provider to the grid and adds the HeaderRow<br>
+     * all assigned filters are passed as {@link CellFilterCriteria} via
+     * {@link com.vaadin.data.provider.Query#getFilter()} and have to be applied by the back-end, so only filters
+     * implementing {@link ExpressibleFilter} are accepted
+     *
+     * @param grid         that should get added a HeaderRow that this component will manage
+     * @param beanType     type of the grid items
+     * @param dataProvider back-end data provider accepting the criteria as filter
+     */
+    public GridCellFilter(Grid<T> grid,
+                          Class<T> beanType,
+                          ConfigurableFilterDataProvider<T, ?, CellFilterCriteria> dataProvider) {
+        this(withDataProvider(grid, dataProvider), beanType);
+    }
+
+    private static <T> Grid<T> withDataProvider(final Grid<T> grid,
+                                                final ConfigurableFilterDataProvider<T, ?, CellFilterCriteria>
+                                                        dataProvider) {
+        grid.setDataProvider(dataProvider);
+        return grid;
+    }
+
     /**
      * generated HeaderRow
      *
@@ -101,6 +235,16 @@ public class GridCellFilter<T> implements Serializable {
                               .collect(Collectors.toSet());
     }
 
+    /**
+     * runtime statistics of each filter that has been evaluated so far<br>
+     * filters get evaluated ordered by these statistics: cheapest and most selective first
+     *
+     * @return statistics per {@link CellFilterId}
+     */
+    public Map<CellFilterId, FilterStatistics> getFilterStatistics() {
+        return Collections.unmodifiableMap(filterStatistics);
+    }
+
     /**
      * add a listener for filter changes
      *
@@ -125,8 +269,14 @@ public class GridCellFilter<T> implements Serializable {
      * notify all registered listeners
      */
     protected void notifyCellFilterChanged() {
+        if (batchDepth > 0) {
+            batchNotifyPending = true;
+            return;
+        }
         for (CellFilterChangedListener listener : cellFilterChangedListeners) {
+            final long start = System.nanoTime();
             listener.changedFilter(this);
+            metricsSink.recordListener(listener, System.nanoTime() - start);
         }
     }
 
@@ -169,14 +319,76 @@ public class GridCellFilter<T> implements Serializable {
     }
 
     /**
-     * removes all filters and clear all inputs
+     * removes all filters and clear all inputs<br>
+     * the grid gets refreshed and the listeners notified only once
      */
     public void clearAllFilters() {
-        for (Entry<CellFilterId, CellFilterComponent> entry : cellFilters.entrySet()) {
-            entry.getValue().clearFilter();
-            removeFilter(entry.getKey(), false);
+        beginBatch();
+        try {
+            for (Entry<CellFilterId, CellFilterComponent> entry : cellFilters.entrySet()) {
+                entry.getValue().clearFilter();
+                removeFilter(entry.getKey(), false);
+            }
+            notifyCellFilterChanged();
+        } finally {
+            commitBatch();
+        }
+    }
+
+    /**
+     * starts collecting filter changes - the filters get applied and listeners notified once on the matching
+     * {@link #commitBatch()}<br>
+     * batches can be nested, only the outermost commit applies the changes
+     */
+    public void beginBatch() {
+        batchDepth++;
+    }
+
+    /**
+     * ends a batch started by {@link #beginBatch()} and applies all collected changes with a single refresh of the
+     * grid and a single notification of the listeners
+     */
+    public void commitBatch() {
+        if (batchDepth == 0) {
+            throw new IllegalStateException("no batch started");
+        }
+        if (--batchDepth > 0) {
+            return;
+        }
+        if (batchRefreshPending) {
+            batchRefreshPending = false;
+            refreshFilters();
+        }
+        if (batchNotifyPending) {
+            batchNotifyPending = false;
+            notifyCellFilterChanged();
+        }
+    }
+
+    /**
+     * replaces multiple filters at once with a single refresh of the grid and a single notification of the listeners
+     * <br>
+     * the inputs of the filter components are not changed
+     *
+     * @param filters predicate per {@link CellFilterId}, a null value removes the filter
+     */
+    public void applyAll(final Map<CellFilterId, SerializablePredicate> filters) {
+        for (Entry<CellFilterId, SerializablePredicate> entry : filters.entrySet()) {
+            checkExpressible(entry.getValue(), entry.getKey());
+        }
+        beginBatch();
+        try {
+            for (Entry<CellFilterId, SerializablePredicate> entry : filters.entrySet()) {
+                if (entry.getValue() == null) {
+                    removeFilter(entry.getKey(), false);
+                } else {
+                    replaceFilter(entry.getValue(), entry.getKey());
+                }
+            }
+            notifyCellFilterChanged();
+        } finally {
+            commitBatch();
         }
-        notifyCellFilterChanged();
     }
 
     /**
@@ -218,27 +430,665 @@ public class GridCellFilter<T> implements Serializable {
      *
      * @param filter       container filter
      * @param cellFilterId id information
+     * @throws IllegalArgumentException when the grid is backed by a back-end data provider and the filter does not
+     *                                  implement {@link ExpressibleFilter}
      */
     public void replaceFilter(SerializablePredicate filter, CellFilterId cellFilterId) {
-        assignedFilters.put(cellFilterId, filter);
+        checkExpressible(filter, cellFilterId);
+        if (assignedFilters.put(cellFilterId, filter) != null && filterStatistics.containsKey(cellFilterId)) {
+            filterStatistics.get(cellFilterId).decay();
+        }
         refreshFilters();
     }
 
+    /**
+     * back-ends get the filters as {@link CellFilterCriteria}, reject what they couldn't translate before it is
+     * assigned instead of failing while they build their query
+     */
+    private void checkExpressible(final SerializablePredicate filter, final CellFilterId cellFilterId) {
+        if (filter != null && !(filter instanceof ExpressibleFilter)
+                && !(grid.getDataProvider() instanceof InMemoryDataProvider)) {
+            throw new IllegalArgumentException(String.format(
+                    "filter of column %s needs to implement ExpressibleFilter for a back-end data provider: %s",
+                    cellFilterId.getColumnId(),
+                    filter));
+        }
+    }
+
     private void refreshFilters() {
-        SerializablePredicate<T> filter = null;
+        if (batchDepth > 0) {
+            batchRefreshPending = true;
+            return;
+        }
+        cancelAsyncScan();
+        final long start = System.nanoTime();
+        if (!(grid.getDataProvider() instanceof InMemoryDataProvider)) {
+            applyBackEndFilter((ConfigurableFilterDataProvider<T, ?, CellFilterCriteria>) grid.getDataProvider());
+            return;
+        }
+        final InMemoryDataProvider<T> dataProvider = (InMemoryDataProvider<T>) grid.getDataProvider();
+        final RowSnapshot<T> snapshot = getRowSnapshot(dataProvider);
+        if (assignedFilters.isEmpty()) {
+            filterPlan = null;
+            resetMatchedRows();
+            applyFilter(dataProvider, null);
+            return;
+        }
+        final long planStart = System.nanoTime();
+        filterPlan = new FilterPlan<>(assignedFilters, filterStatistics, primitiveGetters);
+        metricsSink.recordPlanBuild(System.nanoTime() - planStart);
+        if (snapshot == null) {
+            applyFilter(dataProvider, filterPlan);
+            return;
+        }
+
+        // switching back to a recently used filter state needs no scan
+        final BitSet cached = resultCache != null ? resultCache.get(assignedFilters, snapshot.getGeneration()) : null;
+        if (cached != null) {
+            applyMatchedRows(dataProvider, snapshot, new HashMap<>(assignedFilters), cached, 0, start);
+            return;
+        }
+        final Map<CellFilterId, SerializablePredicate> scanFilters = new HashMap<>(assignedFilters);
+        final BitSet candidates = resolveColumns(snapshot, scanFilters, resolveIndexes(snapshot, scanFilters));
+        if (scanFilters.isEmpty()) {
+            applyMatchedRows(dataProvider, snapshot, new HashMap<>(assignedFilters), candidates, 0, start);
+            return;
+        }
+        final FilterPlan<T> scanPlan;
+        if (scanFilters.size() == assignedFilters.size()) {
+            scanPlan = filterPlan;
+        } else {
+            // the filters resolved by indexes don't need to be tested again
+            final long scanPlanStart = System.nanoTime();
+            scanPlan = new FilterPlan<>(scanFilters, filterStatistics, primitiveGetters);
+            metricsSink.recordPlanBuild(System.nanoTime() - scanPlanStart);
+        }
+        final int rowsScanned = candidates != null ? candidates.cardinality() : snapshot.size();
+        final long[] sampled = getSampledCounters(scanPlan);
+        final UI ui = grid.getUI();
+        if (asyncExecutor != null && ui != null) {
+            scanAsync(ui, dataProvider, snapshot, scanPlan, candidates, sampled, rowsScanned, start);
+        } else {
+            final BitSet rows = scan(snapshot.getRows(), scanPlan, candidates, null);
+            recordFilterEvaluations(scanPlan, sampled);
+            applyMatchedRows(dataProvider, snapshot, new HashMap<>(assignedFilters), rows, rowsScanned, start);
+        }
+    }
+
+    /**
+     * @return sampled evaluations and nanos per filter of the plan or null when no metrics are recorded
+     */
+    private long[] getSampledCounters(final FilterPlan<T> plan) {
+        if (metricsSink == NoOpFilterMetricsSink.INSTANCE) {
+            return null;
+        }
+        final long[] counters = new long[plan.size() * 2];
+        for (int i = 0; i < plan.size(); i++) {
+            counters[i * 2] = plan.getStatistics(i)
+                                  .getEvaluations();
+            counters[i * 2 + 1] = plan.getStatistics(i)
+                                      .getNanos();
+        }
+        return counters;
+    }
+
+    /**
+     * records the evaluations sampled by the plan since the given counters, scaled by the sample interval
+     */
+    private void recordFilterEvaluations(final FilterPlan<T> plan, final long[] sampledBefore) {
+        if (sampledBefore == null) {
+            return;
+        }
+        final long[] sampled = getSampledCounters(plan);
+        for (int i = 0; i < plan.size(); i++) {
+            final long evaluations = sampled[i * 2] - sampledBefore[i * 2];
+            if (evaluations > 0) {
+                metricsSink.recordFilterEvaluation(plan.getCellFilterId(i),
+                                                   evaluations * FilterPlan.SAMPLE_INTERVAL,
+                                                   Math.max(0, sampled[i * 2 + 1] - sampledBefore[i * 2 + 1])
+                                                           * FilterPlan.SAMPLE_INTERVAL);
+            }
+        }
+    }
+
+    /**
+     * resolves the filters via the column indexes
+     *
+     * @param scanFilters filters to resolve, the resolved ones get removed
+     * @return positions of the rows matching the resolved filters or null when all rows need to get scanned
+     */
+    private BitSet resolveIndexes(final RowSnapshot<T> snapshot, final Map<CellFilterId, SerializablePredicate>
+            scanFilters) {
+        // a stricter filter state can only match a subset of the rows matched before
+        BitSet candidates = isNarrowing(snapshot) ? matchedRows : null;
         for (Entry<CellFilterId, SerializablePredicate> entry : assignedFilters.entrySet()) {
-            final CellFilterId cellFilterId = entry.getKey();
-            SerializablePredicate<T> singleFilter = InMemoryDataProviderHelpers.createValueProviderFilter(
-                    cellFilterId.getGetter(), entry.getValue());
-            if (filter == null) {
-                filter = singleFilter;
-            } else {
-                SerializablePredicate<T> tempFilter = filter;
-                filter = (item -> tempFilter.test(item) && singleFilter.test(item));
+            final ColumnIndex index = getColumnIndex(entry.getKey(), snapshot);
+            final BitSet resolved = index != null ? index.resolve(entry.getValue(), candidates) : null;
+            if (resolved != null) {
+                candidates = resolved;
+                scanFilters.remove(entry.getKey());
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * evaluates the filters not resolved by an index on the extracted columns when columnar filtering is enabled
+     *
+     * @param scanFilters filters to resolve, the resolved ones get removed
+     * @param candidates  rows that are still in question, null for all rows
+     * @return positions of the rows matching the resolved filters or null when all rows need to get scanned
+     */
+    private BitSet resolveColumns(final RowSnapshot<T> snapshot,
+                                  final Map<CellFilterId, SerializablePredicate> scanFilters,
+                                  final BitSet candidates) {
+        if (columnarSnapshot == null) {
+            return candidates;
+        }
+        BitSet result = candidates;
+        for (Iterator<Entry<CellFilterId, SerializablePredicate>> it = scanFilters.entrySet()
+                                                                                  .iterator(); it.hasNext(); ) {
+            final Entry<CellFilterId, SerializablePredicate> entry = it.next();
+            final BitSet resolved = columnarSnapshot.resolve(snapshot,
+                                                             entry.getKey(),
+                                                             primitiveGetters.get(entry.getKey()
+                                                                                       .getPropertyId()),
+                                                             entry.getValue(),
+                                                             result);
+            if (resolved != null) {
+                result = resolved;
+                it.remove();
+            }
+        }
+        return result;
+    }
+
+    private BitSet scan(final Object[] rows,
+                        final FilterPlan<T> plan,
+                        final BitSet candidates,
+                        final BooleanSupplier cancelled) {
+        return isParallel(rows.length, candidates) ?
+               RowSnapshot.scan(rows, plan, candidates, getParallelExecutor(), getParallelChunkSize(rows.length),
+                                cancelled) :
+               RowSnapshot.scan(rows, plan, candidates, cancelled);
+    }
+
+    /**
+     * scans the rows on the async executor and applies the result within {@link UI#access(Runnable)}<br>
+     * only the plan forked for the scan is used outside of the session lock, a newer filter state or a data change
+     * cancels the scan
+     */
+    private void scanAsync(final UI ui,
+                           final InMemoryDataProvider<T> dataProvider,
+                           final RowSnapshot<T> snapshot,
+                           final FilterPlan<T> scanPlan,
+                           final BitSet candidates,
+                           final long[] sampled,
+                           final int rowsScanned,
+                           final long start) {
+        final Object[] rows = snapshot.getRows();
+        final int generation = snapshot.getGeneration();
+        final Map<CellFilterId, SerializablePredicate> filters = new HashMap<>(assignedFilters);
+        final FilterPlan<T> fork = scanPlan.fork();
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        asyncScan = cancelled;
+        CompletableFuture.supplyAsync(() -> scan(rows, fork, candidates, cancelled::get), asyncExecutor)
+                         .whenComplete((result, error) -> {
+                             if (cancelled.get()) {
+                                 return;
+                             }
+                             ui.access(() -> {
+                                 if (asyncScan != cancelled) {
+                                     return;
+                                 }
+                                 asyncScan = null;
+                                 if (error != null) {
+                                     throw new RuntimeException("filtering failed", error);
+                                 }
+                                 scanPlan.join(fork);
+                                 recordFilterEvaluations(scanPlan, sampled);
+                                 if (rowSnapshot != snapshot || snapshot.getGeneration() != generation) {
+                                     refreshFilters();
+                                 } else {
+                                     applyMatchedRows(dataProvider, snapshot, filters, result, rowsScanned, start);
+                                 }
+                             });
+                         });
+    }
+
+    private void cancelAsyncScan() {
+        if (asyncScan != null) {
+            asyncScan.set(true);
+            asyncScan = null;
+        }
+    }
+
+    private void applyMatchedRows(final InMemoryDataProvider<T> dataProvider,
+                                  final RowSnapshot<T> snapshot,
+                                  final Map<CellFilterId, SerializablePredicate> filters,
+                                  final BitSet rows,
+                                  final int rowsScanned,
+                                  final long start) {
+        final long nanos = System.nanoTime() - start;
+        updateDebounce(nanos);
+        final boolean slow = slowFilterThresholdNanos > 0 && nanos >= slowFilterThresholdNanos;
+        if (metricsSink != NoOpFilterMetricsSink.INSTANCE || slow) {
+            final int rowsMatched = rows.cardinality();
+            metricsSink.recordRefresh(snapshot.size(), rowsScanned, rowsMatched, nanos);
+            if (slow) {
+                logSlowFilter(snapshot.size(), rowsScanned, rowsMatched, nanos, filters);
+            }
+        }
+        if (resultCache != null) {
+            resultCache.put(filters, snapshot.getGeneration(), rows);
+        }
+        matchedRows = rows;
+        matchedFilters = filters;
+        matchedGeneration = snapshot.getGeneration();
+        rowSetFilter = new RowSetFilter<>(snapshot.getRows(), matchedRows);
+        applyFilter(dataProvider, rowSetFilter);
+    }
+
+    /**
+     * filters large grids without blocking the session: the rows get scanned on the given executor while the UI stays
+     * responsive and the result gets applied via {@link UI#access(Runnable)}<br>
+     * a scan still running gets cancelled once the filters or the data change. Needs server push to be enabled on the
+     * UI, otherwise the result shows up with the next request. Only used when the grid is backed by a
+     * {@link ListDataProvider} and attached to a UI, the filters have to be thread safe
+     *
+     * @param executor that scans the rows, null to filter synchronously
+     */
+    public void setAsyncFiltering(final Executor executor) {
+        this.asyncExecutor = executor;
+        if (executor == null) {
+            cancelAsyncScan();
+        }
+    }
+
+    private void clearResultCache() {
+        if (resultCache != null) {
+            resultCache.clear();
+        }
+    }
+
+    /**
+     * keeps the matching rows of the given amount of recently used filter states, so that switching back to one of
+     * them doesn't scan the rows again<br>
+     * filter states are compared by their parameters, custom filters need to implement equals and hashCode to benefit.
+     * The cache is only used when the grid is backed by a {@link ListDataProvider} and gets cleared on each refresh
+     * of it
+     *
+     * @param maxEntries amount of cached filter states, 0 to disable
+     */
+    public void setResultCacheSize(final int maxEntries) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("maxEntries needs to be positive or 0 to disable");
+        }
+        resultCache = maxEntries > 0 ? new FilterResultCache<>(maxEntries) : null;
+    }
+
+    private void updateDebounce(final long filterNanos) {
+        lastFilterNanos = filterNanos;
+        for (TextField textField : debouncedFields) {
+            applyDebounce(textField);
+        }
+    }
+
+    private void applyDebounce(final TextField textField) {
+        final int rows = rowSnapshot != null ? rowSnapshot.size() : -1;
+        final ValueChangeMode mode = debouncePolicy.getValueChangeMode(rows, lastFilterNanos);
+        final int timeout = debouncePolicy.getValueChangeTimeout(rows, lastFilterNanos);
+        if (textField.getValueChangeMode() != mode) {
+            textField.setValueChangeMode(mode);
+        }
+        if (textField.getValueChangeTimeout() != timeout) {
+            textField.setValueChangeTimeout(timeout);
+        }
+    }
+
+    /**
+     * sets the policy that decides how often the text filters send their value to the server<br>
+     * by default an {@link AdaptiveDebouncePolicy} picks the mode and timeout by the duration of the last filter
+     * evaluation, use {@link DebouncePolicy#fixed(ValueChangeMode, int)} for a static behaviour
+     *
+     * @param debouncePolicy the policy used for all text filters
+     */
+    public void setDebouncePolicy(final DebouncePolicy debouncePolicy) {
+        if (debouncePolicy == null) {
+            throw new IllegalArgumentException("debouncePolicy must not be null");
+        }
+        this.debouncePolicy = debouncePolicy;
+        for (TextField textField : debouncedFields) {
+            applyDebounce(textField);
+        }
+    }
+
+    /**
+     * sets the sink that receives the performance metrics: predicate build time, scanned and matched rows per refresh,
+     * evaluation time per filter and the time spent within each {@link CellFilterChangedListener}<br>
+     * by default all metrics are dropped
+     *
+     * @param metricsSink e.g. a {@link org.vaadin.gridutil.cell.metrics.MicrometerFilterMetricsSink}
+     */
+    public void setMetricsSink(final FilterMetricsSink metricsSink) {
+        if (metricsSink == null) {
+            throw new IllegalArgumentException("metricsSink must not be null");
+        }
+        this.metricsSink = metricsSink;
+    }
+
+    /**
+     * logs a {@link SlowFilterEvent} with level WARNING whenever an in memory filter refresh takes at least the given
+     * time<br>
+     * the event lists the assigned filters with their parameters, the data size and the elapsed time and is passed as
+     * parameter of the log record. Set an id on the grid to tell the events of several grids apart
+     *
+     * @param thresholdMillis minimum duration of a logged refresh, 0 to disable
+     */
+    public void setSlowFilterThreshold(final long thresholdMillis) {
+        if (thresholdMillis < 0) {
+            throw new IllegalArgumentException("thresholdMillis needs to be positive or 0 to disable");
+        }
+        this.slowFilterThresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+    }
+
+    private void logSlowFilter(final int rows,
+                               final int rowsScanned,
+                               final int rowsMatched,
+                               final long nanos,
+                               final Map<CellFilterId, SerializablePredicate> filters) {
+        if (!LOGGER.isLoggable(Level.WARNING)) {
+            return;
+        }
+        final Map<String, String> descriptions = new LinkedHashMap<>();
+        for (Entry<CellFilterId, SerializablePredicate> entry : filters.entrySet()) {
+            descriptions.put(entry.getKey()
+                                  .getColumnId(), SlowFilterEvent.describe(entry.getKey()
+                                                                                .getPropertyId(), entry.getValue()));
+        }
+        final LogRecord record = new LogRecord(Level.WARNING, "slow filter refresh: {0}");
+        record.setLoggerName(LOGGER.getName());
+        record.setParameters(new Object[]{new SlowFilterEvent(grid.getId(),
+                                                              rows,
+                                                              rowsScanned,
+                                                              rowsMatched,
+                                                              nanos,
+                                                              descriptions)});
+        LOGGER.log(record);
+    }
+
+    /**
+     * @return duration of the last in memory filter evaluation in nanos or -1 when nothing got filtered yet
+     */
+    public long getLastFilterNanos() {
+        return lastFilterNanos;
+    }
+
+    private boolean isParallel(final int size, final BitSet candidates) {
+        return parallelThreshold > 0 && size >= parallelThreshold && (candidates == null || candidates
+                .cardinality() >= parallelThreshold);
+    }
+
+    private Executor getParallelExecutor() {
+        return parallelExecutor != null ? parallelExecutor : ForkJoinPool.commonPool();
+    }
+
+    /**
+     * splits the rows into a few chunks per available thread so that slow chunks get balanced
+     */
+    private int getParallelChunkSize(final int size) {
+        final Executor executor = getParallelExecutor();
+        final int parallelism = executor instanceof ForkJoinPool ?
+                                ((ForkJoinPool) executor).getParallelism() :
+                                Runtime.getRuntime()
+                                       .availableProcessors();
+        return Math.max(MIN_PARALLEL_CHUNK_SIZE, size / (parallelism * 4));
+    }
+
+    /**
+     * evaluates the filters in parallel chunks on the common {@link ForkJoinPool} once the grid contains at least the
+     * given amount of rows<br>
+     * only used when the grid is backed by a {@link ListDataProvider}. The filters have to be thread safe, all
+     * filters of this addon are
+     *
+     * @param threshold minimum amount of rows to filter in parallel, 0 to disable
+     */
+    public void setParallelFiltering(final int threshold) {
+        setParallelFiltering(threshold, null);
+    }
+
+    /**
+     * evaluates the filters in parallel chunks on the given executor once the grid contains at least the given amount
+     * of rows<br>
+     * only used when the grid is backed by a {@link ListDataProvider}. The filters have to be thread safe, all
+     * filters of this addon are
+     *
+     * @param threshold minimum amount of rows to filter in parallel, 0 to disable
+     * @param executor  that runs the chunks, null for the common {@link ForkJoinPool}
+     */
+    public void setParallelFiltering(final int threshold, final Executor executor) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("threshold needs to be positive or 0 to disable");
+        }
+        this.parallelThreshold = threshold;
+        this.parallelExecutor = executor;
+    }
+
+    private void applyBackEndFilter(final ConfigurableFilterDataProvider<T, ?, CellFilterCriteria> dataProvider) {
+        dataProvider.setFilter(assignedFilters.isEmpty() ? null : getFilterCriteria());
+    }
+
+    /**
+     * all assigned filters in a serializable form keyed by propertyId<br>
+     * this is what gets passed to a back-end {@link ConfigurableFilterDataProvider}. Columns filtering the same
+     * property contribute one filter each
+     *
+     * @return the current filter state
+     */
+    public CellFilterCriteria getFilterCriteria() {
+        final List<Entry<String, SerializablePredicate<?>>> filters = new ArrayList<>();
+        for (Entry<CellFilterId, SerializablePredicate> entry : assignedFilters.entrySet()) {
+            filters.add(new SimpleImmutableEntry<>(entry.getKey()
+                                                        .getPropertyId(), entry.getValue()));
+        }
+        return new CellFilterCriteria(filters);
+    }
+
+    private void applyFilter(final InMemoryDataProvider<T> dataProvider, final SerializablePredicate<T> filter) {
+        materialize(dataProvider);
+        applyingFilter = true;
+        try {
+            dataProvider.setFilter(filter);
+        } finally {
+            applyingFilter = false;
+        }
+    }
+
+    private void materialize(final InMemoryDataProvider<T> dataProvider) {
+        if (dataProvider instanceof MaterializedListDataProvider) {
+            ((MaterializedListDataProvider<T>) dataProvider).materialize(rowSetFilter,
+                                                                        rowSnapshot.getRows(),
+                                                                        matchedRows);
+        }
+    }
+
+    /**
+     * serves size and fetch of the grid from the positions of the matching rows that get computed once per filter
+     * change, so that scrolling doesn't test any item again<br>
+     * the {@link ListDataProvider} of the grid gets replaced by a {@link MaterializedListDataProvider} sharing its
+     * items, events of the original one are forwarded. Disabling restores the original data provider
+     *
+     * @param materialized should the matching rows get materialized?
+     */
+    public void setMaterializedView(final boolean materialized) {
+        final Object dataProvider = grid.getDataProvider();
+        if (materialized && !(dataProvider instanceof MaterializedListDataProvider)) {
+            if (!(dataProvider instanceof ListDataProvider)) {
+                throw new RuntimeException("materialized view works only with ListDataProvider");
+            }
+            final ListDataProvider<T> source = (ListDataProvider<T>) dataProvider;
+            applyFilter(source, null);
+            final MaterializedListDataProvider<T> view = new MaterializedListDataProvider<>(source.getItems());
+            view.setSortComparator(source.getSortComparator());
+            sourceDataProvider = source;
+            sourceRegistration = source.addDataProviderListener(event -> {
+                if (event instanceof DataRefreshEvent) {
+                    view.refreshItem(((DataRefreshEvent<T>) event).getItem());
+                } else {
+                    view.refreshAll();
+                }
+            });
+            grid.setDataProvider(view);
+            refreshFilters();
+        } else if (!materialized && dataProvider instanceof MaterializedListDataProvider && sourceDataProvider !=
+                null) {
+            sourceRegistration.remove();
+            sourceDataProvider.setSortComparator(((MaterializedListDataProvider<T>) dataProvider).getSortComparator());
+            grid.setDataProvider(sourceDataProvider);
+            sourceDataProvider = null;
+            sourceRegistration = null;
+            refreshFilters();
+        }
+    }
+
+    /**
+     * evaluates the filters column by column: the filtered properties get extracted once into primitive arrays
+     * (long[] for integral numbers, Date and Instant, double[] for floating point numbers and dictionary encoded int[]
+     * for Enums, Booleans and other types with few distinct values) that are scanned sequentially instead of reading
+     * each bean<br>
+     * the columns get extracted on first use after the items were set, rebuilt on refreshAll and updated on
+     * refreshItem of the data provider. Only used when the grid is backed by a {@link ListDataProvider}, filters that
+     * a column doesn't support and columns with many distinct values like names are still tested row by row (in
+     * parallel or async when configured). Costs memory per filtered column, see
+     * {@link ColumnarSnapshot}
+     *
+     * @param columnar should the filters get evaluated column-wise?
+     */
+    public void setColumnarFiltering(final boolean columnar) {
+        if (!columnar) {
+            columnarSnapshot = null;
+        } else if (columnarSnapshot == null) {
+            columnarSnapshot = new ColumnarSnapshot<>();
+        }
+    }
+
+    /**
+     * @return true when all previously matched filters are still assigned and each of them is equal or stricter
+     */
+    private boolean isNarrowing(final RowSnapshot<T> snapshot) {
+        if (matchedRows == null || matchedGeneration != snapshot.getGeneration()) {
+            return false;
+        }
+        for (Entry<CellFilterId, SerializablePredicate> entry : matchedFilters.entrySet()) {
+            final SerializablePredicate current = assignedFilters.get(entry.getKey());
+            if (current == null) {
+                return false;
+            }
+            if (current != entry.getValue() && !(current instanceof NarrowableFilter && ((NarrowableFilter) current)
+                    .isNarrowerThan(entry.getValue()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the index of the column built for the current rows or null when the column has no index
+     */
+    private ColumnIndex getColumnIndex(final CellFilterId cellFilterId, final RowSnapshot<T> snapshot) {
+        final ColumnIndex index = columnIndexes.get(cellFilterId);
+        if (index == null) {
+            return null;
+        }
+        if (indexGeneration != snapshot.getGeneration()) {
+            builtIndexes.clear();
+            indexGeneration = snapshot.getGeneration();
+        }
+        if (builtIndexes.add(cellFilterId)) {
+            final Object[] rows = snapshot.getRows();
+            final Object[] values = new Object[rows.length];
+            final ValueProvider<T, ?> getter = cellFilterId.getGetter();
+            for (int i = 0; i < rows.length; i++) {
+                values[i] = getter.apply((T) rows[i]);
+            }
+            index.build(values);
+        }
+        return index;
+    }
+
+    private void resetMatchedRows() {
+        matchedRows = null;
+        matchedFilters = null;
+        rowSetFilter = null;
+    }
+
+    /**
+     * keeps a {@link RowSnapshot} of the items when the grid is backed by a {@link ListDataProvider}
+     *
+     * @return the snapshot or null when the items are not accessible
+     */
+    private RowSnapshot<T> getRowSnapshot(final InMemoryDataProvider<T> dataProvider) {
+        if (rowSnapshot != null && rowSnapshot.getDataProvider() == dataProvider) {
+            return rowSnapshot;
+        }
+        if (dataProviderRegistration != null) {
+            dataProviderRegistration.remove();
+            dataProviderRegistration = null;
+        }
+        resetMatchedRows();
+        // generations of a new snapshot start over, so nothing extracted from the previous one may be reused
+        builtIndexes.clear();
+        if (columnarSnapshot != null) {
+            columnarSnapshot.clear();
+        }
+        if (dataProvider instanceof ListDataProvider) {
+            rowSnapshot = new RowSnapshot<>((ListDataProvider<T>) dataProvider);
+            dataProviderRegistration = dataProvider.addDataProviderListener(this::onDataChange);
+        } else {
+            rowSnapshot = null;
+        }
+        return rowSnapshot;
+    }
+
+    private void onDataChange(final DataChangeEvent<T> event) {
+        if (applyingFilter) {
+            return;
+        }
+        if (event instanceof DataRefreshEvent) {
+            // single item changed: recheck it against the current filters
+            clearResultCache();
+            final T item = ((DataRefreshEvent<T>) event).getItem();
+            final int row = rowSnapshot.indexOf(item);
+            if (row >= 0 && columnarSnapshot != null) {
+                columnarSnapshot.update(rowSnapshot, row, item);
+            }
+            if (row >= 0 && indexGeneration == rowSnapshot.getGeneration()) {
+                for (CellFilterId cellFilterId : builtIndexes) {
+                    columnIndexes.get(cellFilterId)
+                                 .update(row, cellFilterId.getGetter()
+                                                          .apply(item));
+                }
+            }
+            if (rowSetFilter != null) {
+                final boolean matched = filterPlan.test(item);
+                if (row >= 0) {
+                    matchedRows.set(row, matched);
+                }
+                rowSetFilter.update(item, matched);
+                materialize((InMemoryDataProvider<T>) grid.getDataProvider());
+            }
+            if (asyncScan != null) {
+                // the running scan might have seen the item before it changed
+                refreshFilters();
+            }
+        } else {
+            rowSnapshot.invalidate();
+            resetMatchedRows();
+            clearResultCache();
+            if (!assignedFilters.isEmpty()) {
+                refreshFilters();
             }
         }
-        ((InMemoryDataProvider<T>) grid.getDataProvider())
-                .setFilter(filter);
     }
 
     /**
@@ -260,6 +1110,112 @@ public class GridCellFilter<T> implements Serializable {
         }
     }
 
+    /**
+     * adds an index for the given column that is used to resolve its filter without testing every item<br>
+     * indexes are only used when the grid is backed by a {@link ListDataProvider}. They get built on first use and
+     * are rebuilt after refreshAll or updated on refreshItem of the data provider<br>
+     * Integer, Long, Short, Byte, Double, Float, Date and java.time columns get a {@link RangeIndex}, String columns a
+     * {@link NormalizedTextIndex}, all others (like BigDecimal) an {@link EqualityIndex}. Text indexes only resolve
+     * case insensitive filters, case sensitive text filters are still tested row by row. For case insensitive prefix
+     * filters pass a {@link PrefixIndex}, which
+     * {@link #setTextFilter(String, String, boolean, boolean, String, ColumnIndex)} registers by itself
+     *
+     * @param columnId id of column and property if equal
+     */
+    public void addColumnIndex(final String columnId) {
+        final CellFilterId cellFilterId = createCellFilterId(columnId);
+        final Class<?> propertyType = cellFilterId.getPropertyType();
+        if (Integer.class.equals(propertyType) || Long.class.equals(propertyType) || Short.class.equals(propertyType)
+                || Byte.class.equals(propertyType) || Double.class.equals(propertyType)
+                || Float.class.equals(propertyType) || Date.class.isAssignableFrom(propertyType)
+                || Instant.class.equals(propertyType) || LocalDate.class.equals(propertyType)
+                || LocalDateTime.class.equals(propertyType)) {
+            addColumnIndex(cellFilterId, new RangeIndex());
+        } else if (String.class.equals(propertyType)) {
+            addColumnIndex(cellFilterId, new NormalizedTextIndex());
+        } else {
+            addColumnIndex(cellFilterId, new EqualityIndex());
+        }
+    }
+
+    /**
+     * adds an index for the given column that is used to resolve its filter without testing every item
+     *
+     * @param columnId id of column and property if equal
+     * @param index    the index implementation
+     */
+    public void addColumnIndex(final String columnId, final ColumnIndex index) {
+        addColumnIndex(createCellFilterId(columnId), index);
+    }
+
+    /**
+     * adds an index for the given column that is used to resolve its filter without testing every item
+     *
+     * @param cellFilterId id information
+     * @param index        the index implementation
+     */
+    public void addColumnIndex(final CellFilterId cellFilterId, final ColumnIndex index) {
+        columnIndexes.put(cellFilterId, index);
+        builtIndexes.remove(cellFilterId);
+    }
+
+    /**
+     * removes the index of the given column
+     *
+     * @param columnId id of column and property if equal
+     */
+    public void removeColumnIndex(final String columnId) {
+        final CellFilterId cellFilterId = createCellFilterId(columnId);
+        columnIndexes.remove(cellFilterId);
+        builtIndexes.remove(cellFilterId);
+    }
+
+    /**
+     * registers a getter returning the property as primitive int, used by filters able to test primitives like the
+     * {@link IntRangeFilter} of {@link #setNumberFilter(String, Class)} instead of the boxed property value<br>
+     * the property must never be null. Bean properties of type int, short or byte get such a getter without
+     * registering one
+     *
+     * @param propertyId id of property
+     * @param getter     e.g. a method reference to the getter of the property
+     */
+    public void setIntGetter(final String propertyId, final SerializableToIntFunction<T> getter) {
+        setPrimitiveGetter(propertyId, getter);
+    }
+
+    /**
+     * registers a getter returning the property as primitive long, used by filters able to test primitives like the
+     * {@link LongRangeFilter} of {@link #setNumberFilter(String, Class)} instead of the boxed property value<br>
+     * the property must never be null. Bean properties of type long get such a getter without registering one
+     *
+     * @param propertyId id of property
+     * @param getter     e.g. a method reference to the getter of the property
+     */
+    public void setLongGetter(final String propertyId, final SerializableToLongFunction<T> getter) {
+        setPrimitiveGetter(propertyId, getter);
+    }
+
+    /**
+     * registers a getter returning the property as primitive double, used by filters able to test primitives like the
+     * {@link DoubleRangeFilter} of {@link #setNumberFilter(String, Class)} instead of the boxed property value<br>
+     * the property must never be null. Bean properties of type double or float get such a getter without
+     * registering one
+     *
+     * @param propertyId id of property
+     * @param getter     e.g. a method reference to the getter of the property
+     */
+    public void setDoubleGetter(final String propertyId, final SerializableToDoubleFunction<T> getter) {
+        setPrimitiveGetter(propertyId, getter);
+    }
+
+    private void setPrimitiveGetter(final String propertyId, final Serializable getter) {
+        if (getter == null) {
+            primitiveGetters.remove(propertyId);
+        } else {
+            primitiveGetters.put(propertyId, getter);
+        }
+    }
+
     /**
      * allows to create a {@link CellFilterId} with only a columnId.<br>
      * Needed to set a custom filter using  {@link #setCustomFilter(CellFilterId, CellFilterComponent)}
@@ -363,7 +1319,37 @@ public class GridCellFilter<T> implements Serializable {
                                                         boolean ignoreCase,
                                                         boolean onlyMatchPrefix,
                                                         String inputPrompt) {
+        return setTextFilter(columnId, propertyId, ignoreCase, onlyMatchPrefix, inputPrompt, null);
+    }
+
+    /**
+     * assign a <b>SimpleStringFilter</b> to grid for given columnId that is backed by an index<br>
+     * for example a {@link org.vaadin.gridutil.cell.index.TrigramIndex} for contains filters on large grids. When no
+     * index is passed and none got added before, a case insensitive prefix filter of a String column gets a
+     * {@link PrefixIndex}. Case sensitive filters can't be resolved by the text indexes and are tested row by row
+     *
+     * @param columnId        id of column
+     * @param propertyId      id of property
+     * @param ignoreCase      property of SimpleStringFilter
+     * @param onlyMatchPrefix property of SimpleStringFilter
+     * @param inputPrompt     hint for user
+     * @param index           index of the column, null for none
+     *
+     * @return CellFilterComponent that contains TextField
+     */
+    public CellFilterComponent<TextField> setTextFilter(String columnId,
+                                                        String propertyId,
+                                                        boolean ignoreCase,
+                                                        boolean onlyMatchPrefix,
+                                                        String inputPrompt,
+                                                        ColumnIndex index) {
         final CellFilterId cellFilterId = new CellFilterId(propertySet, columnId, propertyId);
+        if (index != null) {
+            addColumnIndex(cellFilterId, index);
+        } else if (ignoreCase && onlyMatchPrefix && !columnIndexes.containsKey(cellFilterId)
+                && String.class.equals(cellFilterId.getPropertyType())) {
+            addColumnIndex(cellFilterId, new PrefixIndex());
+        }
         CellFilterComponent<TextField> filter = new CellFilterComponent<TextField>() {
 
             TextField textField = new TextField();
@@ -383,8 +1369,8 @@ public class GridCellFilter<T> implements Serializable {
                 textField.setPlaceholder(inputPrompt);
                 textField.addStyleName(STYLENAME_GRIDCELLFILTER);
                 textField.addStyleName(ValoTheme.TEXTFIELD_TINY);
-                textField.setValueChangeTimeout(200);
-                textField.setValueChangeMode(ValueChangeMode.TIMEOUT);
+                debouncedFields.add(textField);
+                applyDebounce(textField);
                 // used to allow changes from outside
                 textField.addValueChangeListener(e -> {
                     currentValue = textField.getValue();
@@ -541,8 +1527,11 @@ public class GridCellFilter<T> implements Serializable {
     }
 
     /**
-     * assign a <b>BetweenFilter</b> to grid for given columnId<br>
-     * only supports type of <b>Integer, Double, Float, BigInteger and BigDecimal</b>
+     * assign a range filter to grid for given columnId<br>
+     * only supports type of <b>Integer, Long, Double, Float, BigInteger and BigDecimal</b>. Integer, Long, Double and
+     * Float get an {@link IntRangeFilter}, {@link LongRangeFilter} or {@link DoubleRangeFilter} comparing primitives,
+     * BigInteger and BigDecimal a <b>BetweenFilter</b>, or a <b>GreaterOrEqualFilter</b> / <b>LessOrEqualFilter</b>
+     * when only one bound is entered
      *
      * @param columnId id of property and column if equal
      * @param type     type of the property
@@ -557,8 +1546,11 @@ public class GridCellFilter<T> implements Serializable {
     }
 
     /**
-     * assign a <b>BetweenFilter</b> to grid for given columnId<br>
-     * only supports type of <b>Integer, Double, Float, BigInteger and BigDecimal</b>
+     * assign a range filter to grid for given columnId<br>
+     * only supports type of <b>Integer, Long, Double, Float, BigInteger and BigDecimal</b>. Integer, Long, Double and
+     * Float get an {@link IntRangeFilter}, {@link LongRangeFilter} or {@link DoubleRangeFilter} comparing primitives,
+     * BigInteger and BigDecimal a <b>BetweenFilter</b>, or a <b>GreaterOrEqualFilter</b> / <b>LessOrEqualFilter</b>
+     * when only one bound is entered
      *
      * @param columnId   id of column
      * @param propertyId id of property
@@ -580,8 +1572,11 @@ public class GridCellFilter<T> implements Serializable {
     }
 
     /**
-     * assign a <b>BetweenFilter</b> to grid for given columnId<br>
-     * only supports type of <b>Integer, Double, Float, BigInteger and BigDecimal</b>
+     * assign a range filter to grid for given columnId<br>
+     * only supports type of <b>Integer, Long, Double, Float, BigInteger and BigDecimal</b>. Integer, Long, Double and
+     * Float get an {@link IntRangeFilter}, {@link LongRangeFilter} or {@link DoubleRangeFilter} comparing primitives,
+     * BigInteger and BigDecimal a <b>BetweenFilter</b>, or a <b>GreaterOrEqualFilter</b> / <b>LessOrEqualFilter</b>
+     * when only one bound is entered
      *
      * @param columnId              id of property and column if equal
      * @param type                  type of the property
@@ -607,8 +1602,11 @@ public class GridCellFilter<T> implements Serializable {
     }
 
     /**
-     * assign a <b>BetweenFilter</b> to grid for given columnId<br>
-     * only supports type of <b>Integer, Double, Float, BigInteger and BigDecimal</b>
+     * assign a range filter to grid for given columnId<br>
+     * only supports type of <b>Integer, Long, Double, Float, BigInteger and BigDecimal</b>. Integer, Long, Double and
+     * Float get an {@link IntRangeFilter}, {@link LongRangeFilter} or {@link DoubleRangeFilter} comparing primitives,
+     * BigInteger and BigDecimal a <b>BetweenFilter</b>, or a <b>GreaterOrEqualFilter</b> / <b>LessOrEqualFilter</b>
+     * when only one bound is entered
      *
      * @param columnId              id of column
      * @param propertyId            id of property
@@ -643,7 +1641,7 @@ public class GridCellFilter<T> implements Serializable {
     }
 
     /**
-     * assign a <b>BetweenFilter</b> to grid for given columnId<br>
+     * assign a <b>DateRangeFilter</b> to grid for given columnId<br>
      *
      * @param columnId id of property and column if equal
      *
@@ -654,7 +1652,7 @@ public class GridCellFilter<T> implements Serializable {
     }
 
     /**
-     * assign a <b>BetweenFilter</b> to grid for given columnId and propertyId<br>
+     * assign a <b>DateRangeFilter</b> to grid for given columnId and propertyId<br>
      *
      * @param columnId   id of column
      * @param propertyId id of property
@@ -662,11 +1660,11 @@ public class GridCellFilter<T> implements Serializable {
      * @return RangeCellFilterComponent that holds both DateFields (smallest and biggest as propertyId) and FilterGroup
      */
     public RangeCellFilterComponent<DateField, HorizontalLayout> setDateFilter(String columnId, String propertyId) {
-        return setDateFilter(columnId, null, true);
+        return setDateFilter(columnId, propertyId, null, true);
     }
 
     /**
-     * assign a <b>BetweenFilter</b> to grid for given columnId<br>
+     * assign a <b>DateRangeFilter</b> to grid for given columnId<br>
      *
      * @param columnId        id of property and column if equal
      * @param dateFormat      the dateFormat to be used for the date fields.
@@ -681,7 +1679,7 @@ public class GridCellFilter<T> implements Serializable {
     }
 
     /**
-     * assign a <b>BetweenFilter</b> to grid for given columnId and propertyId<br>
+     * assign a <b>DateRangeFilter</b> to grid for given columnId and propertyId<br>
      *
      * @param columnId        id of column
      * @param propertyId      id of property
@@ -694,14 +1692,38 @@ public class GridCellFilter<T> implements Serializable {
                                                                                String propertyId,
                                                                                java.text.SimpleDateFormat dateFormat,
                                                                                boolean excludeEndOfDay) {
+        return setDateFilter(columnId, propertyId, dateFormat, excludeEndOfDay, ZoneId.systemDefault());
+    }
+
+    /**
+     * assign a <b>DateRangeFilter</b> to grid for given columnId and propertyId<br>
+     * supports properties of type Date, Instant, LocalDateTime and LocalDate which get compared as primitive millis
+     *
+     * @param columnId        id of column
+     * @param propertyId      id of property
+     * @param dateFormat      the dateFormat to be used for the date fields.
+     * @param excludeEndOfDay biggest value until the end of the day (DAY + 23:59:59.999)
+     * @param zone            zone of the picked days when comparing with Date or Instant values
+     *
+     * @return RangeCellFilterComponent that holds both DateFields (smallest and biggest as propertyId) and FilterGroup
+     */
+    public RangeCellFilterComponent<DateField, HorizontalLayout> setDateFilter(String columnId,
+                                                                               String propertyId,
+                                                                               java.text.SimpleDateFormat dateFormat,
+                                                                               boolean excludeEndOfDay,
+                                                                               ZoneId zone) {
         final CellFilterId cellFilterId = new CellFilterId(propertySet, columnId, propertyId);
         final Class<?> propertyType = cellFilterId.getPropertyType();
-        if (!Date.class.equals(propertyType)) {
-            throw new IllegalArgumentException("columnId " + columnId + " is not of type Date");
+        if (!Date.class.isAssignableFrom(propertyType) && !Instant.class.equals(propertyType) && !LocalDateTime.class
+                .equals(propertyType) && !LocalDate.class.equals(propertyType)) {
+            throw new IllegalArgumentException("columnId " + columnId
+                                                       + " is not of type Date, Instant, LocalDateTime or LocalDate");
         }
         final RangeCellFilterComponent<DateField, HorizontalLayout> filter = RangeCellFilterComponentFactory
                 .createForDate(
                 cellFilterId,
+                propertyType,
+                zone,
                 dateFormat,
                 excludeEndOfDay,
                 (serFilter, cellFilterId1) -> this.replaceFilter(serFilter, cellFilterId1),
@@ -750,6 +1772,8 @@ public class GridCellFilter<T> implements Serializable {
         private final String                   columnId;
         private final String                   propertyId;
         private final PropertyDefinition<T, ?> propertyDefinition;
+        private final ValueProvider<T, ?>      getter;
+        private final Serializable             primitiveGetter;
 
         public CellFilterId(final PropertySet<T> propertySet, final String columnId) {
             this(propertySet, columnId, columnId);
@@ -764,6 +1788,8 @@ public class GridCellFilter<T> implements Serializable {
             } else {
                 propertyDefinition = optionalProperty.get();
             }
+            getter = BeanAccessors.getGetter(propertyDefinition);
+            primitiveGetter = BeanAccessors.getPrimitiveGetter(propertyDefinition);
         }
 
         public String getColumnId() {
@@ -774,8 +1800,20 @@ public class GridCellFilter<T> implements Serializable {
             return propertyId;
         }
 
+        /**
+         * @return getter calling the read method of the property directly, or the getter of the property definition
+         * for nested properties and beans that aren't public
+         */
         public ValueProvider<T, ?> getGetter() {
-            return propertyDefinition.getGetter();
+            return getter;
+        }
+
+        /**
+         * @return {@link SerializableToIntFunction}, {@link SerializableToLongFunction} or
+         * {@link SerializableToDoubleFunction} when the read method returns a primitive number, otherwise null
+         */
+        Serializable getPrimitiveGetter() {
+            return primitiveGetter;
         }
 
         @Override
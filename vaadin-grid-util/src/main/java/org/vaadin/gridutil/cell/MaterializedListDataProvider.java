@@ -0,0 +1,191 @@
+package org.vaadin.gridutil.cell;
+
+import com.vaadin.data.provider.ListDataProvider;
+import com.vaadin.data.provider.Query;
+import com.vaadin.server.SerializableComparator;
+import com.vaadin.server.SerializablePredicate;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * {@link ListDataProvider} that serves size and fetch from the matching rows computed by the {@link GridCellFilter}
+ * <br>
+ * the positions of the matching rows get materialized once per filter change, so that neither the size nor any
+ * scrolled page tests the items again. Sorted fetches are served from a sorted copy of the positions that is kept
+ * until the sorting, the filters or the data change<br>
+ * queries with an additional filter or a filter not set by the {@link GridCellFilter} are handled by the
+ * {@link ListDataProvider}
+ */
+public class MaterializedListDataProvider<T> extends ListDataProvider<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private SerializablePredicate<T> materializedFilter;
+
+    private Object[] rows;
+
+    private int[] matches;
+
+    private Comparator<T> sortedBy;
+
+    private int[] sortedMatches;
+
+    /**
+     * @param items the items of the grid, the collection is not copied
+     */
+    public MaterializedListDataProvider(final Collection<T> items) {
+        super(items);
+    }
+
+    /**
+     * keeps the matching rows for the given filter, they are served as long as the filter is set
+     *
+     * @param filter      the filter the rows have been matched with, null to drop the materialized rows
+     * @param rows        all rows of the snapshot
+     * @param matchedRows positions of the matching rows
+     */
+    void materialize(final SerializablePredicate<T> filter, final Object[] rows, final BitSet matchedRows) {
+        this.materializedFilter = filter;
+        this.rows = filter != null ? rows : null;
+        this.matches = filter != null ? matchedRows.stream()
+                                                   .toArray() : null;
+        this.sortedBy = null;
+        this.sortedMatches = null;
+    }
+
+    /**
+     * @return true when the query can be served from the materialized rows
+     */
+    private boolean isMaterialized(final Query<T, SerializablePredicate<T>> query) {
+        return materializedFilter != null && materializedFilter == getFilter() && !query.getFilter()
+                                                                                       .isPresent()
+                && rows.length == getItems().size();
+    }
+
+    @Override
+    public int size(final Query<T, SerializablePredicate<T>> query) {
+        if (!isMaterialized(query)) {
+            return super.size(query);
+        }
+        return matches.length;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Stream<T> fetch(final Query<T, SerializablePredicate<T>> query) {
+        if (!isMaterialized(query)) {
+            return super.fetch(query);
+        }
+        final int[] positions = getSortedMatches(query.getInMemorySorting(), getSortComparator());
+        final int from = Math.min(query.getOffset(), positions.length);
+        final int to = (int) Math.min((long) from + query.getLimit(), positions.length);
+        final Object[] rows = this.rows;
+        return IntStream.range(from, to)
+                        .mapToObj(i -> (T) rows[positions[i]]);
+    }
+
+    /**
+     * the comparators are cached by identity: the grid passes the same in-memory sorting until the sort order changes
+     */
+    @SuppressWarnings("unchecked")
+    private int[] getSortedMatches(final Comparator<T> inMemorySorting, final SerializableComparator<T>
+            sortComparator) {
+        if (inMemorySorting == null && sortComparator == null) {
+            return matches;
+        }
+        final Comparator<T> comparator = inMemorySorting == null ?
+                                         sortComparator :
+                                         sortComparator == null ?
+                                         inMemorySorting :
+                                         new CombinedComparator<>(inMemorySorting, sortComparator);
+        if (sortedMatches == null || !comparator.equals(sortedBy)) {
+            final int[] positions = matches.clone();
+            sortPositions(positions, new int[positions.length], 0, positions.length, (T[]) rows, comparator);
+            sortedMatches = positions;
+            sortedBy = comparator;
+        }
+        return sortedMatches;
+    }
+
+    /**
+     * stable merge sort of the positions by the rows they point to, avoids boxing each position into an Integer
+     *
+     * @param positions positions to sort between from (inclusive) and to (exclusive)
+     * @param buffer    buffer of at least the size of positions
+     */
+    private static <T> void sortPositions(final int[] positions,
+                                          final int[] buffer,
+                                          final int from,
+                                          final int to,
+                                          final T[] rows,
+                                          final Comparator<T> comparator) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                final int position = positions[i];
+                int j = i - 1;
+                while (j >= from && comparator.compare(rows[positions[j]], rows[position]) > 0) {
+                    positions[j + 1] = positions[j];
+                    j--;
+                }
+                positions[j + 1] = position;
+            }
+            return;
+        }
+        final int middle = (from + to) >>> 1;
+        sortPositions(positions, buffer, from, middle, rows, comparator);
+        sortPositions(positions, buffer, middle, to, rows, comparator);
+        if (comparator.compare(rows[positions[middle - 1]], rows[positions[middle]]) <= 0) {
+            // both halves are already in order
+            return;
+        }
+        System.arraycopy(positions, from, buffer, from, to - from);
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < middle && comparator.compare(rows[buffer[left]], rows[buffer[right]]) <= 0)) {
+                positions[i] = buffer[left++];
+            } else {
+                positions[i] = buffer[right++];
+            }
+        }
+    }
+
+    /**
+     * in-memory sorting of the query followed by the sort comparator of the data provider, equal when both parts are
+     * the same instances
+     */
+    private static class CombinedComparator<T> implements Comparator<T> {
+
+        private final Comparator<T> first;
+
+        private final Comparator<T> second;
+
+        CombinedComparator(final Comparator<T> first, final Comparator<T> second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public int compare(final T o1, final T o2) {
+            final int result = first.compare(o1, o2);
+            return result != 0 ? result : second.compare(o1, o2);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof CombinedComparator && ((CombinedComparator) o).first == first
+                    && ((CombinedComparator) o).second == second;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(first) * 31 + System.identityHashCode(second);
+        }
+    }
+}
@@ -27,13 +27,21 @@ public class NumberUtil {
         }
     }
 
+    /**
+     * @param type type of the number
+     * @param max  true for the biggest value
+     * @return smallest or biggest value of the type, infinity for Double and Float
+     * @deprecated BigInteger and BigDecimal have no boundary, the Long range is returned for them which excludes
+     * bigger values. Open bounds are expressed by the half-open range filters instead.
+     */
+    @Deprecated
     public static <T extends Number & Comparable<? super T>> T getBoundaryValue(final Class<T> type, final boolean max) {
         if (Integer.class.equals(type)) {
             return (T) new Integer(max ? Integer.MAX_VALUE : Integer.MIN_VALUE);
         } else if (Double.class.equals(type)) {
-            return (T) new Double(max ? Double.MAX_VALUE : Double.MIN_VALUE);
+            return (T) new Double(max ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY);
         } else if (Float.class.equals(type)) {
-            return (T) new Float(max ? Float.MAX_VALUE : Float.MIN_VALUE);
+            return (T) new Float(max ? Float.POSITIVE_INFINITY : Float.NEGATIVE_INFINITY);
         } else if (BigInteger.class.equals(type)) {
             return (T) (max ? new BigInteger(String.valueOf(Long.MAX_VALUE)) : new BigInteger(String.valueOf(Long.MIN_VALUE)));
         } else if (BigDecimal.class.equals(type)) {
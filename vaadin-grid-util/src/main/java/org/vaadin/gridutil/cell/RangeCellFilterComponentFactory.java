@@ -1,19 +1,27 @@
 package org.vaadin.gridutil.cell;
 
 import com.vaadin.data.Converter;
-import com.vaadin.data.converter.LocalDateToDateConverter;
 import com.vaadin.server.SerializablePredicate;
 import com.vaadin.ui.DateField;
 import com.vaadin.ui.HorizontalLayout;
 import com.vaadin.ui.TextField;
 import org.vaadin.gridutil.cell.filter.BetweenFilter;
+import org.vaadin.gridutil.cell.filter.DateRangeFilter;
+import org.vaadin.gridutil.cell.filter.DoubleRangeFilter;
 import org.vaadin.gridutil.cell.filter.EqualFilter;
+import org.vaadin.gridutil.cell.filter.GreaterOrEqualFilter;
+import org.vaadin.gridutil.cell.filter.IntRangeFilter;
+import org.vaadin.gridutil.cell.filter.LessOrEqualFilter;
+import org.vaadin.gridutil.cell.filter.LongRangeFilter;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
-import java.util.Calendar;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -23,6 +31,11 @@ import java.util.function.Consumer;
  */
 public class RangeCellFilterComponentFactory {
 
+    /**
+     * last milli of a day, matches java.util.Date precision
+     */
+    private static final LocalTime END_OF_DAY = LocalTime.MAX.truncatedTo(ChronoUnit.MILLIS);
+
     public static <T extends Number & Comparable<? super T>> RangeCellFilterComponentTyped<T, TextField,
             HorizontalLayout> createForNumberType(
             final GridCellFilter.CellFilterId cellFilterId,
@@ -82,21 +95,8 @@ public class RangeCellFilterComponentFactory {
                         final T smallest = getBinder().getBean().getSmallest();
                         final T biggest = getBinder().getBean().getBiggest();
                         if (smallest != null || biggest != null) {
-                            if (smallest != null && biggest != null && smallest.equals(biggest)) {
-                                filterReplaceConsumer.accept(new EqualFilter(smallest), cellFilterId);
-                            } else {
-                                filterReplaceConsumer.accept(new BetweenFilter((smallest != null ?
-                                                                                smallest :
-                                                                                NumberUtil.getBoundaryValue
-                                                                                        (propertyType,
-                                                                                                            false)),
-                                                                               (biggest != null ?
-                                                                                biggest :
-                                                                                NumberUtil.getBoundaryValue
-                                                                                        (propertyType,
-                                                                                                            true))),
-                                                             cellFilterId);
-                            }
+                            filterReplaceConsumer.accept(createNumberFilter(propertyType, smallest, biggest),
+                                                         cellFilterId);
                         } else {
                             filterRemoveConsumer.accept(cellFilterId);
                         }
@@ -120,9 +120,40 @@ public class RangeCellFilterComponentFactory {
         return null;
     }
 
-    private static Date MIN_DATE_VALUE = new Date(0); // 1970-01-01 00:00:00
-
-    private static Date MAX_DATE_VALUE = new Date(32503676399000L); // 2999-12-31 23:59:59
+    /**
+     * picks a filter comparing primitives for Integer, Long, Double and Float, the other types get compared via
+     * {@link Comparable#compareTo(Object)}<br>
+     * when only one bound is given the filter only compares against that bound, so no synthetic boundary value is
+     * needed
+     *
+     * @param propertyType type of the property
+     * @param smallest     lower bound or null when open
+     * @param biggest      upper bound or null when open, at least one of the bounds needs to be set
+     * @return filter matching the range
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Number & Comparable<? super T>> SerializablePredicate<T> createNumberFilter(
+            final Class<T> propertyType,
+            final T smallest,
+            final T biggest) {
+        if (Integer.class.equals(propertyType)) {
+            return (SerializablePredicate) IntRangeFilter.of(smallest != null ? smallest.intValue() : null,
+                                                             biggest != null ? biggest.intValue() : null);
+        } else if (Long.class.equals(propertyType)) {
+            return (SerializablePredicate) LongRangeFilter.of(smallest != null ? smallest.longValue() : null,
+                                                              biggest != null ? biggest.longValue() : null);
+        } else if (Double.class.equals(propertyType) || Float.class.equals(propertyType)) {
+            return (SerializablePredicate) DoubleRangeFilter.of(smallest != null ? smallest.doubleValue() : null,
+                                                                biggest != null ? biggest.doubleValue() : null);
+        } else if (smallest != null && biggest != null && smallest.equals(biggest)) {
+            return new EqualFilter(smallest);
+        } else if (biggest == null) {
+            return (SerializablePredicate) new GreaterOrEqualFilter<>(smallest);
+        } else if (smallest == null) {
+            return (SerializablePredicate) new LessOrEqualFilter<>(biggest);
+        }
+        return new BetweenFilter(smallest, biggest);
+    }
 
     public static RangeCellFilterComponent<DateField, HorizontalLayout> createForDate(final GridCellFilter
             .CellFilterId cellFilterId,
@@ -134,9 +165,39 @@ public class RangeCellFilterComponentFactory {
                                                                                       Consumer<GridCellFilter
                                                                                               .CellFilterId>
                                                                                               filterRemoveConsumer) {
-        return new RangeCellFilterComponent<DateField, HorizontalLayout>() {
+        return createForDate(cellFilterId,
+                             Date.class,
+                             ZoneId.systemDefault(),
+                             dateFormat,
+                             excludeEndOfDay,
+                             (BiConsumer) filterReplaceConsumer,
+                             filterRemoveConsumer);
+    }
 
-            private final LocalDateToDateConverter ldToDateConverter = new LocalDateToDateConverter();
+    /**
+     * creates a date range filter component for properties of type {@link Date}, {@link java.time.Instant},
+     * {@link LocalDateTime} or {@link LocalDate}<br>
+     * the picked days get converted once per change into a {@link DateRangeFilter} comparing primitive millis
+     *
+     * @param cellFilterId          id information
+     * @param propertyType          type of the property
+     * @param zone                  zone of the picked days when comparing with Date or Instant values
+     * @param dateFormat            the dateFormat to be used for the date fields
+     * @param excludeEndOfDay       false to match the biggest day until its end (DAY + 23:59:59.999), true to match only
+     *                              its start
+     * @param filterReplaceConsumer called with the new filter
+     * @param filterRemoveConsumer  called when both fields got cleared
+     * @return the component
+     */
+    public static RangeCellFilterComponent<DateField, HorizontalLayout> createForDate(
+            final GridCellFilter.CellFilterId cellFilterId,
+            final Class<?> propertyType,
+            final ZoneId zone,
+            final SimpleDateFormat dateFormat,
+            final boolean excludeEndOfDay,
+            BiConsumer<SerializablePredicate<?>, GridCellFilter.CellFilterId> filterReplaceConsumer,
+            Consumer<GridCellFilter.CellFilterId> filterRemoveConsumer) {
+        return new RangeCellFilterComponent<DateField, HorizontalLayout>() {
 
             private DateField smallest;
 
@@ -174,45 +235,34 @@ public class RangeCellFilterComponentFactory {
                 return getHLayout();
             }
 
-            private Date fixTiming(Date date, boolean excludeEndOfDay) {
-                Calendar calendar = Calendar.getInstance();
-                calendar.setTime(date);
-                calendar.set(Calendar.MILLISECOND, excludeEndOfDay ? 0 : 999);
-                calendar.set(Calendar.SECOND, excludeEndOfDay ? 0 : 59);
-                calendar.set(Calendar.MINUTE, excludeEndOfDay ? 0 : 59);
-                calendar.set(Calendar.HOUR, excludeEndOfDay ? 0 : 23);
-                return calendar.getTime();
-            }
-
             private void initBinderValueChangeHandler() {
                 getBinder().addValueChangeListener(e -> {
-                    Object smallest = getBinder().getBean().getSmallest();
-                    Object biggest = getBinder().getBean().getBiggest();
-                    Date smallestDate = checkObject(smallest);
-                    Date biggestDate = checkObject(biggest);
-                    if (this.smallest != null || biggest != null) {
-                        if (this.smallest != null && biggest != null && this.smallest.equals(biggest)) {
-                            filterReplaceConsumer.accept(new EqualFilter(this.smallest), cellFilterId);
-                        } else {
-                            filterReplaceConsumer.accept(new BetweenFilter(smallestDate != null ?
-                                                            fixTiming(smallestDate, true) :
-                                                            MIN_DATE_VALUE,
-                                                            biggestDate != null ?
-                                                            fixTiming(biggestDate, excludeEndOfDay) :
-                                                            MAX_DATE_VALUE), cellFilterId);
-                        }
+                    final LocalDate smallestDate = checkObject(getBinder().getBean().getSmallest());
+                    final LocalDate biggestDate = checkObject(getBinder().getBean().getBiggest());
+                    if (smallestDate != null || biggestDate != null) {
+                        filterReplaceConsumer.accept(DateRangeFilter.of(propertyType,
+                                                                        smallestDate != null ?
+                                                                        smallestDate.atStartOfDay() :
+                                                                        null,
+                                                                        biggestDate != null ?
+                                                                        (excludeEndOfDay ?
+                                                                         biggestDate.atStartOfDay() :
+                                                                         biggestDate.atTime(END_OF_DAY)) :
+                                                                        null,
+                                                                        zone), cellFilterId);
                     } else {
                         filterRemoveConsumer.accept(cellFilterId);
                     }
                 });
             }
 
-            private Date checkObject(Object value) {
+            private LocalDate checkObject(Object value) {
                 if (value instanceof LocalDate) {
-                    return ldToDateConverter.convertToModel((LocalDate) value, null)
-                                            .getOrThrow(msg -> new IllegalArgumentException(msg));
+                    return (LocalDate) value;
                 } else if (value instanceof Date) {
-                    return (Date) value;
+                    return ((Date) value).toInstant()
+                                         .atZone(zone)
+                                         .toLocalDate();
                 }
                 return null;
             }
@@ -223,4 +273,4 @@ public class RangeCellFilterComponentFactory {
             }
         };
     }
-}
\ No newline at end of file
+}
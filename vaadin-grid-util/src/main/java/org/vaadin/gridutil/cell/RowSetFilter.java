@@ -0,0 +1,46 @@
+package org.vaadin.gridutil.cell;
+
+import com.vaadin.server.SerializablePredicate;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * filter handed to the data provider once the matching rows of a {@link RowSnapshot} are known<br>
+ * testing an item is a lookup instead of evaluating all cell filters again
+ */
+class RowSetFilter<T> implements SerializablePredicate<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Set<T> matches;
+
+    @SuppressWarnings("unchecked")
+    RowSetFilter(final Object[] rows, final BitSet matchedRows) {
+        this.matches = Collections.newSetFromMap(new IdentityHashMap<>(matchedRows.cardinality()));
+        for (int i = matchedRows.nextSetBit(0); i >= 0; i = matchedRows.nextSetBit(i + 1)) {
+            matches.add((T) rows[i]);
+        }
+    }
+
+    /**
+     * updates a single item after it got refreshed
+     *
+     * @param item    the refreshed item
+     * @param matched whether the item passes all cell filters
+     */
+    void update(final T item, final boolean matched) {
+        if (matched) {
+            matches.add(item);
+        } else {
+            matches.remove(item);
+        }
+    }
+
+    @Override
+    public boolean test(final T item) {
+        return matches.contains(item);
+    }
+}
@@ -0,0 +1,243 @@
+package org.vaadin.gridutil.cell;
+
+import com.vaadin.data.provider.ListDataProvider;
+import com.vaadin.server.SerializablePredicate;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BooleanSupplier;
+
+/**
+ * positional copy of the items of a {@link ListDataProvider}<br>
+ * filter results are kept as {@link BitSet} of row positions within this snapshot. The rows get rebuilt lazily after
+ * {@link #invalidate()} or when the size of the backing collection changed.
+ */
+public class RowSnapshot<T> implements Serializable {
+
+    /**
+     * amount of rows after which a cancellable scan checks whether it got cancelled - needs to be a power of two
+     */
+    static final int CANCEL_CHECK_INTERVAL = 1024;
+
+    private static final long serialVersionUID = 1L;
+
+    private final ListDataProvider<T> dataProvider;
+
+    private Object[] rows;
+
+    private int generation;
+
+    /**
+     * first position of each row by identity, built on the first lookup
+     */
+    private transient Map<Object, Integer> positionsByIdentity;
+
+    /**
+     * first position of each row by equality, built on the first lookup of an item that isn't a row itself
+     */
+    private transient Map<Object, Integer> positionsByEquality;
+
+    public RowSnapshot(final ListDataProvider<T> dataProvider) {
+        this.dataProvider = dataProvider;
+    }
+
+    public ListDataProvider<T> getDataProvider() {
+        return dataProvider;
+    }
+
+    /**
+     * @return items of the data provider in iteration order
+     */
+    public Object[] getRows() {
+        if (rows == null || rows.length != dataProvider.getItems()
+                                                      .size()) {
+            rows = dataProvider.getItems()
+                               .toArray();
+            positionsByIdentity = null;
+            positionsByEquality = null;
+            generation++;
+        }
+        return rows;
+    }
+
+    /**
+     * @return counter that changes each time the rows got rebuilt
+     */
+    public int getGeneration() {
+        getRows();
+        return generation;
+    }
+
+    /**
+     * @return amount of rows
+     */
+    public int size() {
+        return getRows().length;
+    }
+
+    /**
+     * @param row position within the snapshot
+     * @return item at the given position
+     */
+    @SuppressWarnings("unchecked")
+    public T getItem(final int row) {
+        return (T) getRows()[row];
+    }
+
+    /**
+     * @param item to lookup, identity is checked first then equality - both via a lookup built once per rebuild of the
+     *             rows
+     * @return position of the item or -1 when not found
+     */
+    public int indexOf(final T item) {
+        final Object[] rows = getRows();
+        if (positionsByIdentity == null) {
+            positionsByIdentity = index(rows, new IdentityHashMap<>(rows.length));
+        }
+        Integer position = positionsByIdentity.get(item);
+        if (position == null && item != null) {
+            if (positionsByEquality == null) {
+                positionsByEquality = index(rows, new HashMap<>(rows.length));
+            }
+            position = positionsByEquality.get(item);
+            if (position == null) {
+                // the hash code of a mutable row might have changed since the lookup got built
+                for (int i = 0; i < rows.length; i++) {
+                    if (item.equals(rows[i])) {
+                        return i;
+                    }
+                }
+            }
+        }
+        return position != null ? position : -1;
+    }
+
+    private static Map<Object, Integer> index(final Object[] rows, final Map<Object, Integer> positions) {
+        for (int i = 0; i < rows.length; i++) {
+            if (rows[i] != null) {
+                positions.putIfAbsent(rows[i], i);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * drops the rows so that they get rebuilt on next access
+     */
+    public void invalidate() {
+        rows = null;
+        positionsByIdentity = null;
+        positionsByEquality = null;
+    }
+
+    /**
+     * tests the rows with the given filter
+     *
+     * @param filter     to test each row with
+     * @param candidates rows to test, null for all rows
+     * @return positions of all matching rows
+     */
+    public BitSet scan(final SerializablePredicate<T> filter, final BitSet candidates) {
+        return scan(getRows(), filter, candidates, null);
+    }
+
+    /**
+     * tests the rows in chunks on the given executor<br>
+     * each chunk gets its own {@link FilterPlan#fork()} so that no state is shared between the threads, the statistics
+     * get joined afterwards. The predicates of the plan have to be thread safe
+     *
+     * @param plan       to test each row with
+     * @param candidates rows to test, null for all rows
+     * @param executor   that runs the chunks
+     * @param chunkSize  amount of rows per chunk
+     * @return positions of all matching rows
+     */
+    public BitSet scan(final FilterPlan<T> plan, final BitSet candidates, final Executor executor, final int
+            chunkSize) {
+        return scan(getRows(), plan, candidates, executor, chunkSize, null);
+    }
+
+    /**
+     * tests the given rows, used for scans outside of the request thread on rows taken from a snapshot before
+     *
+     * @param cancelled checked every {@link #CANCEL_CHECK_INTERVAL} rows, null when the scan can't get cancelled
+     * @throws CancellationException when cancelled
+     */
+    static <T> BitSet scan(final Object[] rows, final SerializablePredicate<T> filter, final BitSet candidates,
+                           final BooleanSupplier cancelled) {
+        final BitSet result = new BitSet(rows.length);
+        scan(rows, filter, candidates, 0, rows.length, result, cancelled);
+        return result;
+    }
+
+    /**
+     * parallel variant of {@link #scan(Object[], SerializablePredicate, BitSet, BooleanSupplier)}
+     */
+    static <T> BitSet scan(final Object[] rows, final FilterPlan<T> plan, final BitSet candidates, final Executor
+            executor, final int chunkSize, final BooleanSupplier cancelled) {
+        // chunks are aligned to the 64 bit words of the BitSet
+        final int step = Math.max(64, (chunkSize + 63) & ~63);
+        if (rows.length <= step) {
+            return scan(rows, plan, candidates, cancelled);
+        }
+        final List<FilterPlan<T>> forks = new ArrayList<>();
+        final List<CompletableFuture<BitSet>> chunks = new ArrayList<>();
+        for (int from = 0; from < rows.length; from += step) {
+            final int start = from;
+            final int end = Math.min(rows.length, from + step);
+            final FilterPlan<T> fork = plan.fork();
+            forks.add(fork);
+            chunks.add(CompletableFuture.supplyAsync(() -> {
+                final BitSet chunk = new BitSet(end);
+                scan(rows, fork, candidates, start, end, chunk, cancelled);
+                return chunk;
+            }, executor));
+        }
+        final BitSet result = new BitSet(rows.length);
+        try {
+            for (CompletableFuture<BitSet> chunk : chunks) {
+                result.or(chunk.join());
+            }
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+        for (FilterPlan<T> fork : forks) {
+            plan.join(fork);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void scan(final Object[] rows, final SerializablePredicate<T> filter, final BitSet
+            candidates, final int from, final int to, final BitSet result, final BooleanSupplier cancelled) {
+        if (candidates == null) {
+            for (int i = from; i < to; i++) {
+                if (cancelled != null && (i & (CANCEL_CHECK_INTERVAL - 1)) == 0 && cancelled.getAsBoolean()) {
+                    throw new CancellationException();
+                }
+                if (filter.test((T) rows[i])) {
+                    result.set(i);
+                }
+            }
+        } else {
+            int tested = 0;
+            for (int i = candidates.nextSetBit(from); i >= 0 && i < to; i = candidates.nextSetBit(i + 1)) {
+                if (cancelled != null && (++tested & (CANCEL_CHECK_INTERVAL - 1)) == 0 && cancelled.getAsBoolean()) {
+                    throw new CancellationException();
+                }
+                if (filter.test((T) rows[i])) {
+                    result.set(i);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package org.vaadin.gridutil.cell;
+
+import java.io.Serializable;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * {@link ToDoubleFunction} that is serializable, used as getter of a primitive double property
+ */
+@FunctionalInterface
+public interface SerializableToDoubleFunction<T> extends ToDoubleFunction<T>, Serializable {
+}
@@ -0,0 +1,11 @@
+package org.vaadin.gridutil.cell;
+
+import java.io.Serializable;
+import java.util.function.ToLongFunction;
+
+/**
+ * {@link ToLongFunction} that is serializable, used as getter of a primitive long property
+ */
+@FunctionalInterface
+public interface SerializableToLongFunction<T> extends ToLongFunction<T>, Serializable {
+}
@@ -1,11 +1,14 @@
 package org.vaadin.gridutil.cell.filter;
 
 import com.vaadin.server.SerializablePredicate;
+import org.vaadin.gridutil.cell.query.FilterCondition;
+import org.vaadin.gridutil.cell.query.FilterOperator;
 
 /**
  * Created by georg.hicker on 01.08.2017.
  */
-public class BetweenFilter<T extends Comparable<? super T>> implements SerializablePredicate<Comparable<T>> {
+public class BetweenFilter<T extends Comparable<? super T>> implements NarrowableFilter<Comparable<T>>,
+        ExpressibleFilter<Comparable<T>> {
     private final T startValue;
     private final T endValue;
 
@@ -14,6 +17,14 @@ public class BetweenFilter<T extends Comparable<? super T>> implements Serializa
         this.endValue = endValue;
     }
 
+    public T getStartValue() {
+        return startValue;
+    }
+
+    public T getEndValue() {
+        return endValue;
+    }
+
     @Override
     public boolean test(Comparable<T> value) {
         if (value == null) {
@@ -30,4 +41,52 @@ public class BetweenFilter<T extends Comparable<? super T>> implements Serializa
         return endValue == null || value.compareTo(endValue) <= 0;
     }
 
+    @Override
+    public FilterCondition toCondition(String propertyId) {
+        if (startValue != null && endValue != null) {
+            return new FilterCondition(propertyId, FilterOperator.BETWEEN, startValue, endValue);
+        } else if (startValue != null) {
+            return new FilterCondition(propertyId, FilterOperator.GREATER_OR_EQUAL, startValue);
+        } else if (endValue != null) {
+            return new FilterCondition(propertyId, FilterOperator.LESS_OR_EQUAL, endValue);
+        }
+        return new FilterCondition(propertyId, FilterOperator.ANY);
+    }
+
+    @Override
+    public boolean isNarrowerThan(SerializablePredicate<?> previous) {
+        if (!(previous instanceof BetweenFilter)) {
+            return false;
+        }
+        final BetweenFilter<T> other = (BetweenFilter<T>) previous;
+        final boolean startWithin = other.startValue == null || (startValue != null && startValue.compareTo(other
+                .startValue) >= 0);
+        final boolean endWithin = other.endValue == null || (endValue != null && endValue.compareTo(other.endValue)
+                <= 0);
+        return startWithin && endWithin;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        BetweenFilter<?> that = (BetweenFilter<?>) o;
+
+        if (startValue != null ? !startValue.equals(that.startValue) : that.startValue != null) {
+            return false;
+        }
+        return endValue != null ? endValue.equals(that.endValue) : that.endValue == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = startValue != null ? startValue.hashCode() : 0;
+        result = 31 * result + (endValue != null ? endValue.hashCode() : 0);
+        return result;
+    }
 }
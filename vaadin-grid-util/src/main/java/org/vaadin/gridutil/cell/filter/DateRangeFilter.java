@@ -0,0 +1,250 @@
+package org.vaadin.gridutil.cell.filter;
+
+import com.vaadin.server.SerializablePredicate;
+import org.vaadin.gridutil.cell.query.FilterCondition;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * inclusive range of points in time compared as primitive millis<br>
+ * supports {@link Date}, {@link Instant}, {@link LocalDateTime} and {@link LocalDate} values. The bounds are local
+ * date times that get converted once: to epoch millis within the given zone for Date and Instant values, to local
+ * millis (counted from 1970-01-01T00:00 without any zone) for LocalDateTime and LocalDate values. A LocalDate is
+ * compared by its start of day. A null bound stands for an open bound, null values never match. {@link #of(Class,
+ * LocalDateTime, LocalDateTime, ZoneId)} returns a variant that only compares against the bound that is set.
+ */
+public class DateRangeFilter implements LongValueFilter, NarrowableFilter<Object>, ExpressibleFilter<Object> {
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private final Class<?> valueType;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final ZoneId zone;
+
+    private final long minMillis;
+    private final long maxMillis;
+    private final long minLocalMillis;
+    private final long maxLocalMillis;
+
+    /**
+     * @param valueType type of the filtered property, used to describe the filter as {@link FilterCondition}
+     * @param start     first matching point in time or null when open
+     * @param end       last matching point in time or null when open
+     * @param zone      zone of the bounds when comparing with {@link Date} or {@link Instant} values
+     */
+    public DateRangeFilter(Class<?> valueType, LocalDateTime start, LocalDateTime end, ZoneId zone) {
+        this.valueType = valueType;
+        this.start = start;
+        this.end = end;
+        this.zone = zone;
+        this.minMillis = start != null ? start.atZone(zone).toInstant().toEpochMilli() : Long.MIN_VALUE;
+        this.maxMillis = end != null ? end.atZone(zone).toInstant().toEpochMilli() : Long.MAX_VALUE;
+        this.minLocalMillis = start != null ? toLocalMillis(start) : Long.MIN_VALUE;
+        this.maxLocalMillis = end != null ? toLocalMillis(end) : Long.MAX_VALUE;
+    }
+
+    /**
+     * @param valueType type of the filtered property, used to describe the filter as {@link FilterCondition}
+     * @param start     first matching point in time or null when open
+     * @param end       last matching point in time or null when open
+     * @param zone      zone of the bounds when comparing with {@link Date} or {@link Instant} values
+     * @return filter that tests a single bound when the other one is open
+     */
+    public static DateRangeFilter of(Class<?> valueType, LocalDateTime start, LocalDateTime end, ZoneId zone) {
+        if (start != null && end == null) {
+            return new AtLeast(valueType, start, zone);
+        } else if (start == null && end != null) {
+            return new AtMost(valueType, end, zone);
+        }
+        return new DateRangeFilter(valueType, start, end, zone);
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    /**
+     * @return lower bound in epoch millis for Date and Instant values
+     */
+    public long getMinMillis() {
+        return minMillis;
+    }
+
+    /**
+     * @return upper bound in epoch millis for Date and Instant values
+     */
+    public long getMaxMillis() {
+        return maxMillis;
+    }
+
+    /**
+     * @return lower bound in local millis for LocalDateTime and LocalDate values
+     */
+    public long getMinLocalMillis() {
+        return minLocalMillis;
+    }
+
+    /**
+     * @return upper bound in local millis for LocalDateTime and LocalDate values
+     */
+    public long getMaxLocalMillis() {
+        return maxLocalMillis;
+    }
+
+    /**
+     * @param value the local date time
+     * @return millis since 1970-01-01T00:00 without any zone
+     */
+    public static long toLocalMillis(LocalDateTime value) {
+        final long days = value.toLocalDate().toEpochDay();
+        return days * MILLIS_PER_DAY + value.toLocalTime().toNanoOfDay() / NANOS_PER_MILLI;
+    }
+
+    /**
+     * @param value the local date
+     * @return millis since 1970-01-01T00:00 of the start of the day
+     */
+    public static long toLocalMillis(LocalDate value) {
+        return value.toEpochDay() * MILLIS_PER_DAY;
+    }
+
+    @Override
+    public boolean test(Object value) {
+        if (value instanceof Date) {
+            return testLong(((Date) value).getTime());
+        } else if (value instanceof LocalDate) {
+            return testLocal(toLocalMillis((LocalDate) value));
+        } else if (value instanceof LocalDateTime) {
+            return testLocal(toLocalMillis((LocalDateTime) value));
+        } else if (value instanceof Instant) {
+            return testLong(((Instant) value).toEpochMilli());
+        }
+        return false;
+    }
+
+    /**
+     * @param value epoch millis
+     * @return true when within the range
+     */
+    @Override
+    public boolean testLong(long value) {
+        return value >= minMillis && value <= maxMillis;
+    }
+
+    boolean testLocal(final long localMillis) {
+        return localMillis >= minLocalMillis && localMillis <= maxLocalMillis;
+    }
+
+    @Override
+    public FilterCondition toCondition(String propertyId) {
+        return FilterCondition.range(propertyId,
+                                     start != null ? toOperand(start) : null,
+                                     end != null ? toOperand(end) : null);
+    }
+
+    private Object toOperand(final LocalDateTime bound) {
+        if (LocalDateTime.class.equals(valueType)) {
+            return bound;
+        } else if (LocalDate.class.equals(valueType)) {
+            // a day matches by its start so the end bound covers the day it belongs to
+            return bound.toLocalDate();
+        } else if (Instant.class.equals(valueType)) {
+            return bound.atZone(zone).toInstant();
+        }
+        return Date.from(bound.atZone(zone).toInstant());
+    }
+
+    @Override
+    public boolean isNarrowerThan(SerializablePredicate<?> previous) {
+        if (!(previous instanceof DateRangeFilter)) {
+            return false;
+        }
+        final DateRangeFilter other = (DateRangeFilter) previous;
+        return zone.equals(other.zone) && minLocalMillis >= other.minLocalMillis
+                && maxLocalMillis <= other.maxLocalMillis;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        DateRangeFilter that = (DateRangeFilter) o;
+
+        if (minLocalMillis != that.minLocalMillis || maxLocalMillis != that.maxLocalMillis) {
+            return false;
+        }
+        if (valueType != null ? !valueType.equals(that.valueType) : that.valueType != null) {
+            return false;
+        }
+        return zone.equals(that.zone);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = valueType != null ? valueType.hashCode() : 0;
+        result = 31 * result + Long.hashCode(minLocalMillis);
+        result = 31 * result + Long.hashCode(maxLocalMillis);
+        result = 31 * result + zone.hashCode();
+        return result;
+    }
+
+    /**
+     * range without end
+     */
+    private static final class AtLeast extends DateRangeFilter {
+
+        AtLeast(Class<?> valueType, LocalDateTime start, ZoneId zone) {
+            super(valueType, start, null, zone);
+        }
+
+        @Override
+        public boolean testLong(long value) {
+            return value >= getMinMillis();
+        }
+
+        @Override
+        boolean testLocal(long localMillis) {
+            return localMillis >= getMinLocalMillis();
+        }
+    }
+
+    /**
+     * range without start
+     */
+    private static final class AtMost extends DateRangeFilter {
+
+        AtMost(Class<?> valueType, LocalDateTime end, ZoneId zone) {
+            super(valueType, null, end, zone);
+        }
+
+        @Override
+        public boolean testLong(long value) {
+            return value <= getMaxMillis();
+        }
+
+        @Override
+        boolean testLocal(long localMillis) {
+            return localMillis <= getMaxLocalMillis();
+        }
+    }
+}
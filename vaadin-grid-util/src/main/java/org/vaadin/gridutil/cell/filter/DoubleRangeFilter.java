@@ -0,0 +1,120 @@
+package org.vaadin.gridutil.cell.filter;
+
+import com.vaadin.server.SerializablePredicate;
+import org.vaadin.gridutil.cell.query.FilterCondition;
+
+/**
+ * inclusive range of double values compared as primitives<br>
+ * {@link Double#NEGATIVE_INFINITY} and {@link Double#POSITIVE_INFINITY} stand for an open bound, NaN never matches.
+ * {@link #of(Double, Double)} returns a variant that only compares against the bound that is set
+ */
+public class DoubleRangeFilter implements DoubleValueFilter, NarrowableFilter<Number>, ExpressibleFilter<Number> {
+
+    private final double min;
+    private final double max;
+
+    public DoubleRangeFilter(double min, double max) {
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * @param min lower bound or null when open
+     * @param max upper bound or null when open
+     * @return filter that tests a single bound when the other one is open
+     */
+    public static DoubleRangeFilter of(Double min, Double max) {
+        if (min != null && max == null) {
+            return new AtLeast(min);
+        } else if (min == null && max != null) {
+            return new AtMost(max);
+        }
+        return new DoubleRangeFilter(min != null ? min : Double.NEGATIVE_INFINITY,
+                                     max != null ? max : Double.POSITIVE_INFINITY);
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    @Override
+    public boolean test(Number value) {
+        return value != null && testDouble(value.doubleValue());
+    }
+
+    @Override
+    public boolean testDouble(double value) {
+        return value >= min && value <= max;
+    }
+
+    @Override
+    public FilterCondition toCondition(String propertyId) {
+        return FilterCondition.range(propertyId,
+                                     min != Double.NEGATIVE_INFINITY ? min : null,
+                                     max != Double.POSITIVE_INFINITY ? max : null);
+    }
+
+    @Override
+    public boolean isNarrowerThan(SerializablePredicate<?> previous) {
+        if (!(previous instanceof DoubleRangeFilter)) {
+            return false;
+        }
+        final DoubleRangeFilter other = (DoubleRangeFilter) previous;
+        return min >= other.min && max <= other.max;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        DoubleRangeFilter that = (DoubleRangeFilter) o;
+
+        return Double.compare(that.min, min) == 0 && Double.compare(that.max, max) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Double.hashCode(min);
+        result = 31 * result + Double.hashCode(max);
+        return result;
+    }
+
+    /**
+     * range without upper bound
+     */
+    private static final class AtLeast extends DoubleRangeFilter {
+
+        AtLeast(double min) {
+            super(min, Double.POSITIVE_INFINITY);
+        }
+
+        @Override
+        public boolean testDouble(double value) {
+            return value >= getMin();
+        }
+    }
+
+    /**
+     * range without lower bound
+     */
+    private static final class AtMost extends DoubleRangeFilter {
+
+        AtMost(double max) {
+            super(Double.NEGATIVE_INFINITY, max);
+        }
+
+        @Override
+        public boolean testDouble(double value) {
+            return value <= getMax();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.vaadin.gridutil.cell.filter;
+
+import java.io.Serializable;
+
+/**
+ * filter that is able to test a primitive double without boxing<br>
+ * used when a double getter is registered for the column via
+ * {@link org.vaadin.gridutil.cell.GridCellFilter#setDoubleGetter(String, org.vaadin.gridutil.cell.SerializableToDoubleFunction)}
+ */
+public interface DoubleValueFilter extends Serializable {
+
+    /**
+     * @param value the column value
+     * @return true when matching
+     */
+    boolean testDouble(double value);
+}
@@ -1,11 +1,13 @@
 package org.vaadin.gridutil.cell.filter;
 
 import com.vaadin.server.SerializablePredicate;
+import org.vaadin.gridutil.cell.query.FilterCondition;
+import org.vaadin.gridutil.cell.query.FilterOperator;
 
 /**
  * Created by marten on 22.02.17.
  */
-public class EqualFilter<T> implements SerializablePredicate<T> {
+public class EqualFilter<T> implements NarrowableFilter<T>, ExpressibleFilter<T> {
 
     final T toCompare;
 
@@ -13,6 +15,10 @@ public class EqualFilter<T> implements SerializablePredicate<T> {
         this.toCompare = toCompare;
     }
 
+    public T getValue() {
+        return toCompare;
+    }
+
     @Override
     public boolean test(T value) {
         if (value == null && toCompare == null) {
@@ -23,4 +29,73 @@ public class EqualFilter<T> implements SerializablePredicate<T> {
         }
         return value.equals(toCompare);
     }
+
+    @Override
+    public FilterCondition toCondition(String propertyId) {
+        if (toCompare == null) {
+            return new FilterCondition(propertyId, FilterOperator.IS_NULL);
+        }
+        return new FilterCondition(propertyId, FilterOperator.EQUAL, toCompare);
+    }
+
+    @Override
+    public boolean isNarrowerThan(SerializablePredicate<?> previous) {
+        if (previous instanceof EqualFilter) {
+            final Object other = ((EqualFilter<?>) previous).toCompare;
+            return toCompare != null ? toCompare.equals(other) : other == null;
+        }
+        if (previous instanceof BetweenFilter) {
+            final BetweenFilter<?> other = (BetweenFilter<?>) previous;
+            if (toCompare == null) {
+                // a between filter only accepts null without any bound
+                return other.getStartValue() == null && other.getEndValue() == null;
+            }
+            return isWithin(other.getStartValue(), other.getEndValue());
+        }
+        if (previous instanceof GreaterOrEqualFilter) {
+            return isWithin(((GreaterOrEqualFilter<?>) previous).getStartValue(), null);
+        }
+        if (previous instanceof LessOrEqualFilter) {
+            return isWithin(null, ((LessOrEqualFilter<?>) previous).getEndValue());
+        }
+        return false;
+    }
+
+    /**
+     * @param start lower bound, null when open
+     * @param end   upper bound, null when open
+     * @return true when the value is of the same comparable class as the bounds and within them
+     */
+    @SuppressWarnings("unchecked")
+    private boolean isWithin(final Comparable<?> start, final Comparable<?> end) {
+        if (!(toCompare instanceof Comparable) || !isSameClass(start) || !isSameClass(end)) {
+            return false;
+        }
+        final Comparable<Object> value = (Comparable<Object>) toCompare;
+        return (start == null || value.compareTo(start) >= 0) && (end == null || value.compareTo(end) <= 0);
+    }
+
+    private boolean isSameClass(final Object bound) {
+        return bound == null || bound.getClass()
+                                     .equals(toCompare.getClass());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        EqualFilter<?> that = (EqualFilter<?>) o;
+
+        return toCompare != null ? toCompare.equals(that.toCompare) : that.toCompare == null;
+    }
+
+    @Override
+    public int hashCode() {
+        return toCompare != null ? toCompare.hashCode() : 0;
+    }
 }
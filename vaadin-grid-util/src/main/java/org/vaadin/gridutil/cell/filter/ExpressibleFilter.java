@@ -0,0 +1,16 @@
+package org.vaadin.gridutil.cell.filter;
+
+import com.vaadin.server.SerializablePredicate;
+import org.vaadin.gridutil.cell.query.FilterCondition;
+
+/**
+ * filter that is able to describe itself as {@link FilterCondition} so that it could be pushed down to a back-end
+ */
+public interface ExpressibleFilter<T> extends SerializablePredicate<T> {
+
+    /**
+     * @param propertyId id of the filtered property
+     * @return condition with the same semantic as this filter
+     */
+    FilterCondition toCondition(String propertyId);
+}
@@ -0,0 +1,70 @@
+package org.vaadin.gridutil.cell.filter;
+
+import com.vaadin.server.SerializablePredicate;
+import org.vaadin.gridutil.cell.query.FilterCondition;
+import org.vaadin.gridutil.cell.query.FilterOperator;
+
+/**
+ * half-open range that only has a lower bound<br>
+ * tests each value with a single {@link Comparable#compareTo(Object)} and works for every comparable type without
+ * the need of a synthetic upper bound. Null values never match.
+ */
+public class GreaterOrEqualFilter<T extends Comparable<? super T>> implements NarrowableFilter<Comparable<T>>,
+        ExpressibleFilter<Comparable<T>> {
+
+    private final T startValue;
+
+    public GreaterOrEqualFilter(T startValue) {
+        if (startValue == null) {
+            throw new IllegalArgumentException("startValue is required");
+        }
+        this.startValue = startValue;
+    }
+
+    public T getStartValue() {
+        return startValue;
+    }
+
+    @Override
+    public boolean test(Comparable<T> value) {
+        return value != null && value.compareTo(startValue) >= 0;
+    }
+
+    @Override
+    public FilterCondition toCondition(String propertyId) {
+        return new FilterCondition(propertyId, FilterOperator.GREATER_OR_EQUAL, startValue);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean isNarrowerThan(SerializablePredicate<?> previous) {
+        if (previous instanceof GreaterOrEqualFilter) {
+            return startValue.compareTo(((GreaterOrEqualFilter<T>) previous).startValue) >= 0;
+        }
+        if (previous instanceof BetweenFilter) {
+            final BetweenFilter<T> other = (BetweenFilter<T>) previous;
+            return other.getEndValue() == null && (other.getStartValue() == null || startValue.compareTo(other
+                    .getStartValue()) >= 0);
+        }
+        return false;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        GreaterOrEqualFilter<?> that = (GreaterOrEqualFilter<?>) o;
+
+        return startValue.equals(that.startValue);
+    }
+
+    @Override
+    public int hashCode() {
+        return startValue.hashCode();
+    }
+}
@@ -0,0 +1,138 @@
+package org.vaadin.gridutil.cell.filter;
+
+import com.vaadin.server.SerializablePredicate;
+import org.vaadin.gridutil.cell.query.FilterCondition;
+
+/**
+ * inclusive range of int values compared as primitives<br>
+ * {@link Integer#MIN_VALUE} and {@link Integer#MAX_VALUE} stand for an open bound, {@link #of(Integer, Integer)}
+ * returns a variant that only compares against the bound that is set. Long values beyond the int range only match an
+ * open bound.
+ */
+public class IntRangeFilter implements IntValueFilter, LongValueFilter, NarrowableFilter<Number>,
+        ExpressibleFilter<Number> {
+
+    private final int min;
+    private final int max;
+
+    public IntRangeFilter(int min, int max) {
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * @param min lower bound or null when open
+     * @param max upper bound or null when open
+     * @return filter that tests a single bound when the other one is open
+     */
+    public static IntRangeFilter of(Integer min, Integer max) {
+        if (min != null && max == null) {
+            return new AtLeast(min);
+        } else if (min == null && max != null) {
+            return new AtMost(max);
+        }
+        return new IntRangeFilter(min != null ? min : Integer.MIN_VALUE, max != null ? max : Integer.MAX_VALUE);
+    }
+
+    public int getMin() {
+        return min;
+    }
+
+    public int getMax() {
+        return max;
+    }
+
+    @Override
+    public boolean test(Number value) {
+        // long values beyond the int range must not wrap around
+        return value != null && testLong(value.longValue());
+    }
+
+    @Override
+    public boolean testInt(int value) {
+        return value >= min && value <= max;
+    }
+
+    @Override
+    public boolean testLong(long value) {
+        // the open bounds stay open for long values beyond the int range
+        return (value >= min || min == Integer.MIN_VALUE) && (value <= max || max == Integer.MAX_VALUE);
+    }
+
+    @Override
+    public FilterCondition toCondition(String propertyId) {
+        return FilterCondition.range(propertyId,
+                                     min != Integer.MIN_VALUE ? min : null,
+                                     max != Integer.MAX_VALUE ? max : null);
+    }
+
+    @Override
+    public boolean isNarrowerThan(SerializablePredicate<?> previous) {
+        if (!(previous instanceof IntRangeFilter)) {
+            return false;
+        }
+        final IntRangeFilter other = (IntRangeFilter) previous;
+        return min >= other.min && max <= other.max;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        IntRangeFilter that = (IntRangeFilter) o;
+
+        return min == that.min && max == that.max;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Integer.hashCode(min);
+        result = 31 * result + Integer.hashCode(max);
+        return result;
+    }
+
+    /**
+     * range without upper bound
+     */
+    private static final class AtLeast extends IntRangeFilter {
+
+        AtLeast(int min) {
+            super(min, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public boolean testInt(int value) {
+            return value >= getMin();
+        }
+
+        @Override
+        public boolean testLong(long value) {
+            return value >= getMin();
+        }
+    }
+
+    /**
+     * range without lower bound
+     */
+    private static final class AtMost extends IntRangeFilter {
+
+        AtMost(int max) {
+            super(Integer.MIN_VALUE, max);
+        }
+
+        @Override
+        public boolean testInt(int value) {
+            return value <= getMax();
+        }
+
+        @Override
+        public boolean testLong(long value) {
+            return value <= getMax();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.vaadin.gridutil.cell.filter;
+
+import java.io.Serializable;
+
+/**
+ * filter that is able to test a primitive int without boxing<br>
+ * used when an int getter is registered for the column via
+ * {@link org.vaadin.gridutil.cell.GridCellFilter#setIntGetter(String, com.vaadin.server.SerializableToIntFunction)}
+ */
+public interface IntValueFilter extends Serializable {
+
+    /**
+     * @param value the column value
+     * @return true when matching
+     */
+    boolean testInt(int value);
+}
@@ -0,0 +1,70 @@
+package org.vaadin.gridutil.cell.filter;
+
+import com.vaadin.server.SerializablePredicate;
+import org.vaadin.gridutil.cell.query.FilterCondition;
+import org.vaadin.gridutil.cell.query.FilterOperator;
+
+/**
+ * half-open range that only has an upper bound<br>
+ * tests each value with a single {@link Comparable#compareTo(Object)} and works for every comparable type without
+ * the need of a synthetic lower bound. Null values never match.
+ */
+public class LessOrEqualFilter<T extends Comparable<? super T>> implements NarrowableFilter<Comparable<T>>,
+        ExpressibleFilter<Comparable<T>> {
+
+    private final T endValue;
+
+    public LessOrEqualFilter(T endValue) {
+        if (endValue == null) {
+            throw new IllegalArgumentException("endValue is required");
+        }
+        this.endValue = endValue;
+    }
+
+    public T getEndValue() {
+        return endValue;
+    }
+
+    @Override
+    public boolean test(Comparable<T> value) {
+        return value != null && value.compareTo(endValue) <= 0;
+    }
+
+    @Override
+    public FilterCondition toCondition(String propertyId) {
+        return new FilterCondition(propertyId, FilterOperator.LESS_OR_EQUAL, endValue);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean isNarrowerThan(SerializablePredicate<?> previous) {
+        if (previous instanceof LessOrEqualFilter) {
+            return endValue.compareTo(((LessOrEqualFilter<T>) previous).endValue) <= 0;
+        }
+        if (previous instanceof BetweenFilter) {
+            final BetweenFilter<T> other = (BetweenFilter<T>) previous;
+            return other.getStartValue() == null && (other.getEndValue() == null || endValue.compareTo(other
+                    .getEndValue()) <= 0);
+        }
+        return false;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        LessOrEqualFilter<?> that = (LessOrEqualFilter<?>) o;
+
+        return endValue.equals(that.endValue);
+    }
+
+    @Override
+    public int hashCode() {
+        return endValue.hashCode();
+    }
+}
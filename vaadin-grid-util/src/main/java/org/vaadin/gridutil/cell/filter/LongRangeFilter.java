@@ -0,0 +1,119 @@
+package org.vaadin.gridutil.cell.filter;
+
+import com.vaadin.server.SerializablePredicate;
+import org.vaadin.gridutil.cell.query.FilterCondition;
+
+/**
+ * inclusive range of long values compared as primitives<br>
+ * {@link Long#MIN_VALUE} and {@link Long#MAX_VALUE} stand for an open bound, {@link #of(Long, Long)} returns a variant
+ * that only compares against the bound that is set
+ */
+public class LongRangeFilter implements LongValueFilter, NarrowableFilter<Number>, ExpressibleFilter<Number> {
+
+    private final long min;
+    private final long max;
+
+    public LongRangeFilter(long min, long max) {
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * @param min lower bound or null when open
+     * @param max upper bound or null when open
+     * @return filter that tests a single bound when the other one is open
+     */
+    public static LongRangeFilter of(Long min, Long max) {
+        if (min != null && max == null) {
+            return new AtLeast(min);
+        } else if (min == null && max != null) {
+            return new AtMost(max);
+        }
+        return new LongRangeFilter(min != null ? min : Long.MIN_VALUE, max != null ? max : Long.MAX_VALUE);
+    }
+
+    public long getMin() {
+        return min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    @Override
+    public boolean test(Number value) {
+        return value != null && testLong(value.longValue());
+    }
+
+    @Override
+    public boolean testLong(long value) {
+        return value >= min && value <= max;
+    }
+
+    @Override
+    public FilterCondition toCondition(String propertyId) {
+        return FilterCondition.range(propertyId,
+                                     min != Long.MIN_VALUE ? min : null,
+                                     max != Long.MAX_VALUE ? max : null);
+    }
+
+    @Override
+    public boolean isNarrowerThan(SerializablePredicate<?> previous) {
+        if (!(previous instanceof LongRangeFilter)) {
+            return false;
+        }
+        final LongRangeFilter other = (LongRangeFilter) previous;
+        return min >= other.min && max <= other.max;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        LongRangeFilter that = (LongRangeFilter) o;
+
+        return min == that.min && max == that.max;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(min);
+        result = 31 * result + Long.hashCode(max);
+        return result;
+    }
+
+    /**
+     * range without upper bound
+     */
+    private static final class AtLeast extends LongRangeFilter {
+
+        AtLeast(long min) {
+            super(min, Long.MAX_VALUE);
+        }
+
+        @Override
+        public boolean testLong(long value) {
+            return value >= getMin();
+        }
+    }
+
+    /**
+     * range without lower bound
+     */
+    private static final class AtMost extends LongRangeFilter {
+
+        AtMost(long max) {
+            super(Long.MIN_VALUE, max);
+        }
+
+        @Override
+        public boolean testLong(long value) {
+            return value <= getMax();
+        }
+    }
+}
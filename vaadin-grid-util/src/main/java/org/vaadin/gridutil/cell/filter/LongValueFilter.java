@@ -0,0 +1,17 @@
+package org.vaadin.gridutil.cell.filter;
+
+import java.io.Serializable;
+
+/**
+ * filter that is able to test a primitive long without boxing<br>
+ * used when a long getter is registered for the column via
+ * {@link org.vaadin.gridutil.cell.GridCellFilter#setLongGetter(String, org.vaadin.gridutil.cell.SerializableToLongFunction)}
+ */
+public interface LongValueFilter extends Serializable {
+
+    /**
+     * @param value the column value
+     * @return true when matching
+     */
+    boolean testLong(long value);
+}
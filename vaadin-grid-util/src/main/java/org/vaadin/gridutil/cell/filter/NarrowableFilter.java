@@ -0,0 +1,16 @@
+package org.vaadin.gridutil.cell.filter;
+
+import com.vaadin.server.SerializablePredicate;
+
+/**
+ * filter that is able to tell whether it is at least as strict as another filter<br>
+ * allows the GridCellFilter to only re-check the items matched before instead of all items
+ */
+public interface NarrowableFilter<T> extends SerializablePredicate<T> {
+
+    /**
+     * @param previous filter that was assigned before
+     * @return true when every value accepted by this filter is accepted by the previous filter too
+     */
+    boolean isNarrowerThan(SerializablePredicate<?> previous);
+}
@@ -1,41 +1,172 @@
 package org.vaadin.gridutil.cell.filter;
 
 import com.vaadin.server.SerializablePredicate;
+import org.vaadin.gridutil.cell.query.FilterCondition;
+import org.vaadin.gridutil.cell.query.FilterOperator;
 
 /**
- * Created by marten on 22.02.17.
+ * Created by marten on 22.02.17.<br>
+ * case insensitive filters compare char by char like {@link String#regionMatches(boolean, int, String, int, int)}
+ * against the filterString as entered. {@link #getFilterString()} and the indexes use the same folding via
+ * {@link #foldCase(String)}, which doesn't depend on the default locale and keeps the length of the text ('İ' becomes
+ * 'i' and not "i̇").
  */
-public class SimpleStringFilter implements SerializablePredicate<String> {
+public class SimpleStringFilter implements NarrowableFilter<String>, ExpressibleFilter<String> {
 
     final String filterString;
     final boolean ignoreCase;
     final boolean onlyMatchPrefix;
 
+    // filterString as entered, folded char by char while matching case insensitive
+    private final String needle;
+
+    // case folded first char of the needle to quickly skip positions while searching case insensitive
+    private final char firstFolded;
+
     public SimpleStringFilter(String filterString, boolean ignoreCase, boolean onlyMatchPrefix) {
         this.ignoreCase = ignoreCase;
         // ignoreCase has to be applied to filterstring too, otherwise uppercase input won't work
-        this.filterString = this.ignoreCase ? filterString.toLowerCase() : filterString;
+        this.filterString = this.ignoreCase ? foldCase(filterString) : filterString;
         this.onlyMatchPrefix = onlyMatchPrefix;
+        this.needle = filterString;
+        final boolean hasFirst = filterString != null && !filterString.isEmpty();
+        this.firstFolded = foldCase(hasFirst ? filterString.charAt(0) : 0);
+    }
+
+    public String getFilterString() {
+        return filterString;
     }
 
+    public boolean isIgnoreCase() {
+        return ignoreCase;
+    }
+
+    public boolean isOnlyMatchPrefix() {
+        return onlyMatchPrefix;
+    }
+
+    /**
+     * matches without allocating - case insensitive comparison is done char by char via
+     * {@link String#regionMatches(boolean, int, String, int, int)}
+     */
     @Override
     public boolean test(String value) {
         if (filterString == null || value == null) {
             return false;
         }
-        final String v = ignoreCase ? value.toString()
-                .toLowerCase()
-                : value.toString();
-
+        if (!ignoreCase) {
+            return onlyMatchPrefix ? value.startsWith(filterString) : value.contains(filterString);
+        }
         if (onlyMatchPrefix) {
-            if (!v.startsWith(filterString)) {
-                return false;
-            }
-        } else {
-            if (!v.contains(filterString)) {
-                return false;
+            return value.regionMatches(true, 0, needle, 0, needle.length());
+        }
+        return containsIgnoreCase(value);
+    }
+
+    /**
+     * same as {@link #test(String)} for a value that is already folded by {@link #foldCase(String)} when ignoreCase is
+     * set<br>
+     * used for cached normalized column values
+     *
+     * @param normalizedValue value folded by {@link #foldCase(String)} when ignoreCase
+     * @return true when matching
+     */
+    public boolean testNormalized(String normalizedValue) {
+        if (filterString == null || normalizedValue == null) {
+            return false;
+        }
+        return onlyMatchPrefix ? normalizedValue.startsWith(filterString) : normalizedValue.contains(filterString);
+    }
+
+    private boolean containsIgnoreCase(final String value) {
+        final int length = needle.length();
+        if (length == 0) {
+            return true;
+        }
+        for (int i = 0, last = value.length() - length; i <= last; i++) {
+            final char c = value.charAt(i);
+            // ASCII chars get folded without calling Character
+            final char folded = c < 128 ? (c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c) : foldCase(c);
+            if (folded == firstFolded && value.regionMatches(true, i, needle, 0, length)) {
+                return true;
             }
         }
-        return true;
+        return false;
+    }
+
+    /**
+     * folds the case of each char like {@link String#regionMatches(boolean, int, String, int, int)} does. Two texts of
+     * the same length match ignoring case exactly when their folded texts are equal.
+     *
+     * @param text to fold
+     * @return folded text or null
+     */
+    public static String foldCase(final String text) {
+        if (text == null) {
+            return null;
+        }
+        final char[] chars = text.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = foldCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * two chars are equal for {@link String#regionMatches(boolean, int, String, int, int)} ignoring case exactly when
+     * their folded chars are equal
+     */
+    private static char foldCase(final char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    @Override
+    public FilterCondition toCondition(String propertyId) {
+        return new FilterCondition(propertyId,
+                                   onlyMatchPrefix ? FilterOperator.STARTS_WITH : FilterOperator.CONTAINS,
+                                   filterString,
+                                   ignoreCase);
+    }
+
+    @Override
+    public boolean isNarrowerThan(SerializablePredicate<?> previous) {
+        if (!(previous instanceof SimpleStringFilter)) {
+            return false;
+        }
+        final SimpleStringFilter other = (SimpleStringFilter) previous;
+        if (ignoreCase != other.ignoreCase || needle == null || other.needle == null) {
+            return false;
+        }
+        // every text matching this needle contains the needle itself, so the previous filter has to match it with
+        // the same folding
+        return (onlyMatchPrefix || !other.onlyMatchPrefix) && other.test(needle);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        SimpleStringFilter that = (SimpleStringFilter) o;
+
+        if (ignoreCase != that.ignoreCase) {
+            return false;
+        }
+        if (onlyMatchPrefix != that.onlyMatchPrefix) {
+            return false;
+        }
+        return filterString != null ? filterString.equals(that.filterString) : that.filterString == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = filterString != null ? filterString.hashCode() : 0;
+        result = 31 * result + (ignoreCase ? 1 : 0);
+        result = 31 * result + (onlyMatchPrefix ? 1 : 0);
+        return result;
     }
 }
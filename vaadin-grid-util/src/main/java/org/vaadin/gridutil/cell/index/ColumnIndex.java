@@ -0,0 +1,37 @@
+package org.vaadin.gridutil.cell.index;
+
+import com.vaadin.server.SerializablePredicate;
+
+import java.io.Serializable;
+import java.util.BitSet;
+
+/**
+ * index over the values of one filtered column<br>
+ * rows are addressed by their position within the items of the data provider
+ */
+public interface ColumnIndex extends Serializable {
+
+    /**
+     * (re)builds the index
+     *
+     * @param values value of the column for each row
+     */
+    void build(Object[] values);
+
+    /**
+     * updates the value of a single row after the item got refreshed
+     *
+     * @param row   position of the item
+     * @param value current value of the column
+     */
+    void update(int row, Object value);
+
+    /**
+     * resolves the filter by the index
+     *
+     * @param filter     assigned cell filter of the column
+     * @param candidates rows that are still in question, null for all rows
+     * @return all candidate rows matching the filter or null when the filter is not supported by this index
+     */
+    BitSet resolve(SerializablePredicate<?> filter, BitSet candidates);
+}
@@ -0,0 +1,62 @@
+package org.vaadin.gridutil.cell.index;
+
+import com.vaadin.server.SerializablePredicate;
+import org.vaadin.gridutil.cell.filter.EqualFilter;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * inverted index of value to bitmap of rows<br>
+ * suited for columns with low cardinality like enums, booleans or country codes filtered by a {@link EqualFilter}
+ */
+public class EqualityIndex implements ColumnIndex {
+
+    private static final long serialVersionUID = 1L;
+
+    private Map<Object, BitSet> rowsByValue = new HashMap<>();
+
+    private Object[] values = new Object[0];
+
+    @Override
+    public void build(final Object[] values) {
+        this.values = values.clone();
+        rowsByValue = new HashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            rowsByValue.computeIfAbsent(values[i], value -> new BitSet(values.length))
+                       .set(i);
+        }
+    }
+
+    @Override
+    public void update(final int row, final Object value) {
+        final BitSet previous = rowsByValue.get(values[row]);
+        if (previous != null) {
+            previous.clear(row);
+        }
+        values[row] = value;
+        rowsByValue.computeIfAbsent(value, v -> new BitSet(values.length))
+                   .set(row);
+    }
+
+    @Override
+    public BitSet resolve(final SerializablePredicate<?> filter, final BitSet candidates) {
+        if (!(filter instanceof EqualFilter)) {
+            return null;
+        }
+        final BitSet rows = rowsByValue.get(((EqualFilter<?>) filter).getValue());
+        final BitSet result = rows == null ? new BitSet() : (BitSet) rows.clone();
+        if (candidates != null) {
+            result.and(candidates);
+        }
+        return result;
+    }
+
+    /**
+     * @return amount of distinct values within the column
+     */
+    public int getCardinality() {
+        return rowsByValue.size();
+    }
+}
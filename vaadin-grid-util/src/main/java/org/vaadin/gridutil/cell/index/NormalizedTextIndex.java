@@ -0,0 +1,102 @@
+package org.vaadin.gridutil.cell.index;
+
+import com.vaadin.server.SerializablePredicate;
+import org.vaadin.gridutil.cell.filter.SimpleStringFilter;
+
+import java.text.Normalizer;
+import java.util.BitSet;
+import java.util.regex.Pattern;
+
+/**
+ * cache of the normalized (case folded by {@link SimpleStringFilter#foldCase(String)} and optionally accent stripped)
+ * text of each row<br>
+ * a case insensitive {@link SimpleStringFilter} then becomes a plain scan over a dense array without calling the
+ * getter or folding the case again. Case sensitive filters are not supported and get filtered row by row.
+ */
+public class NormalizedTextIndex implements ColumnIndex {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final boolean stripAccents;
+
+    private String[] values = new String[0];
+
+    public NormalizedTextIndex() {
+        this(false);
+    }
+
+    /**
+     * @param stripAccents when true "Müller" is found by "muller" as well
+     */
+    public NormalizedTextIndex(final boolean stripAccents) {
+        this.stripAccents = stripAccents;
+    }
+
+    @Override
+    public void build(final Object[] values) {
+        final String[] normalized = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            normalized[i] = normalize(values[i]);
+        }
+        this.values = normalized;
+    }
+
+    @Override
+    public void update(final int row, final Object value) {
+        values[row] = normalize(value);
+    }
+
+    @Override
+    public BitSet resolve(final SerializablePredicate<?> filter, final BitSet candidates) {
+        if (!(filter instanceof SimpleStringFilter) || !((SimpleStringFilter) filter).isIgnoreCase()) {
+            return null;
+        }
+        SimpleStringFilter stringFilter = (SimpleStringFilter) filter;
+        if (stripAccents && stringFilter.getFilterString() != null) {
+            stringFilter = new SimpleStringFilter(normalize(stringFilter.getFilterString()),
+                                                  true,
+                                                  stringFilter.isOnlyMatchPrefix());
+        }
+        final String[] values = this.values;
+        final BitSet result = new BitSet(values.length);
+        if (candidates == null) {
+            for (int i = 0; i < values.length; i++) {
+                if (stringFilter.testNormalized(values[i])) {
+                    result.set(i);
+                }
+            }
+        } else {
+            for (int i = candidates.nextSetBit(0); i >= 0 && i < values.length; i = candidates.nextSetBit(i + 1)) {
+                if (stringFilter.testNormalized(values[i])) {
+                    result.set(i);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return normalized text per row
+     */
+    protected String[] getValues() {
+        return values;
+    }
+
+    /**
+     * @param value raw value of the column
+     * @return the normalized text or null
+     */
+    protected String normalize(final Object value) {
+        if (value == null) {
+            return null;
+        }
+        final String text = SimpleStringFilter.foldCase(value.toString());
+        if (!stripAccents) {
+            return text;
+        }
+        return COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                              .replaceAll("");
+    }
+}
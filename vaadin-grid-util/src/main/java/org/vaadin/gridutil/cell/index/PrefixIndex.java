@@ -0,0 +1,119 @@
+package org.vaadin.gridutil.cell.index;
+
+import com.vaadin.server.SerializablePredicate;
+import org.vaadin.gridutil.cell.filter.SimpleStringFilter;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.TreeMap;
+
+/**
+ * sorted dictionary of the distinct normalized texts of a column for case insensitive "starts with" filters<br>
+ * a prefix resolves by binary search to the range of matching dictionary entries whose rows get combined. Suited for
+ * columns with a bounded vocabulary like names, codes or hostnames. Other case insensitive text filters get resolved like
+ * in {@link NormalizedTextIndex}, case sensitive ones aren't resolved at all and get filtered row by row.<br>
+ * {@link org.vaadin.gridutil.cell.GridCellFilter#setTextFilter(String, String, boolean, boolean, String, ColumnIndex)}
+ * adds it to String columns with a case insensitive prefix filter when no other index got added.
+ */
+public class PrefixIndex extends NormalizedTextIndex {
+
+    private static final long serialVersionUID = 1L;
+
+    private String[] terms = new String[0];
+
+    private int[][] termRows = new int[0][];
+
+    /**
+     * rows updated after the dictionary got built, they are always verified
+     */
+    private BitSet updatedRows = new BitSet();
+
+    public PrefixIndex() {
+        this(false);
+    }
+
+    /**
+     * @param stripAccents when true "Müller" is found by "mul" as well
+     */
+    public PrefixIndex(final boolean stripAccents) {
+        super(stripAccents);
+    }
+
+    @Override
+    public void build(final Object[] values) {
+        super.build(values);
+        final String[] texts = getValues();
+        final TreeMap<String, BitSet> dictionary = new TreeMap<>();
+        for (int row = 0; row < texts.length; row++) {
+            if (texts[row] != null) {
+                dictionary.computeIfAbsent(texts[row], term -> new BitSet())
+                          .set(row);
+            }
+        }
+        terms = dictionary.keySet()
+                          .toArray(new String[dictionary.size()]);
+        termRows = new int[terms.length][];
+        for (int i = 0; i < terms.length; i++) {
+            termRows[i] = dictionary.get(terms[i])
+                                    .stream()
+                                    .toArray();
+        }
+        updatedRows = new BitSet();
+    }
+
+    @Override
+    public void update(final int row, final Object value) {
+        super.update(row, value);
+        updatedRows.set(row);
+    }
+
+    /**
+     * @return amount of distinct texts
+     */
+    public int getDictionarySize() {
+        return terms.length;
+    }
+
+    @Override
+    public BitSet resolve(final SerializablePredicate<?> filter, final BitSet candidates) {
+        if (!(filter instanceof SimpleStringFilter) || !((SimpleStringFilter) filter).isIgnoreCase() || !(
+                (SimpleStringFilter) filter).isOnlyMatchPrefix()) {
+            return super.resolve(filter, candidates);
+        }
+        final String prefix = normalize(((SimpleStringFilter) filter).getFilterString());
+        if (prefix == null) {
+            return new BitSet();
+        }
+        final int from = lowerBound(prefix);
+        final int to = lowerBound(prefix + Character.MAX_VALUE);
+        final BitSet matches = new BitSet();
+        for (int i = from; i < to; i++) {
+            for (int row : termRows[i]) {
+                matches.set(row);
+            }
+        }
+        if (updatedRows.isEmpty()) {
+            if (candidates != null) {
+                matches.and(candidates);
+            }
+            return matches;
+        }
+        // updated rows might have left or entered the range, verify them against their current text
+        final BitSet verify = (BitSet) updatedRows.clone();
+        matches.andNot(updatedRows);
+        if (candidates != null) {
+            matches.and(candidates);
+            verify.and(candidates);
+        }
+        matches.or(super.resolve(filter, verify));
+        return matches;
+    }
+
+    /**
+     * @return position of the first term &gt;= the given key
+     */
+    private int lowerBound(final String key) {
+        final int pos = Arrays.binarySearch(terms, key);
+        return pos >= 0 ? pos : -pos - 1;
+    }
+}
@@ -0,0 +1,416 @@
+package org.vaadin.gridutil.cell.index;
+
+import com.vaadin.server.SerializablePredicate;
+import org.vaadin.gridutil.cell.filter.BetweenFilter;
+import org.vaadin.gridutil.cell.filter.DateRangeFilter;
+import org.vaadin.gridutil.cell.filter.DoubleRangeFilter;
+import org.vaadin.gridutil.cell.filter.EqualFilter;
+import org.vaadin.gridutil.cell.filter.GreaterOrEqualFilter;
+import org.vaadin.gridutil.cell.filter.IntRangeFilter;
+import org.vaadin.gridutil.cell.filter.LessOrEqualFilter;
+import org.vaadin.gridutil.cell.filter.LongRangeFilter;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Date;
+
+/**
+ * sorted index for numeric, date and java.time columns<br>
+ * values are kept as primitive long keys (doubles are mapped order preserving) together with a permutation of row
+ * positions. A {@link BetweenFilter}, {@link EqualFilter} or one of the primitive range filters gets resolved by two
+ * binary searches into a contiguous slice, a {@link GreaterOrEqualFilter} or {@link LessOrEqualFilter} by one.
+ * Columns with other types (like BigDecimal) are not supported and get filtered row by row, as well as filters whose
+ * value is of another class than the column values (like an Integer on a Long column), which the filters themselves
+ * wouldn't consider equal or comparable.
+ */
+public class RangeIndex implements ColumnIndex {
+
+    private static final long serialVersionUID = 1L;
+
+    private enum KeyType {
+        LONG, DOUBLE, DATE, INSTANT, LOCAL_DATE, LOCAL_DATE_TIME
+    }
+
+    private KeyType keyType;
+
+    /**
+     * class of all values, null when the column mixes classes of the same key type
+     */
+    private Class<?> valueClass;
+
+    private boolean supported;
+
+    private long[] keys = new long[0];
+
+    private int[] rows = new int[0];
+
+    /**
+     * amount of keys in use, the arrays keep spare capacity at their end for rows getting a value
+     */
+    private int count;
+
+    private int[] positions = new int[0];
+
+    private BitSet nullRows = new BitSet();
+
+    @Override
+    public void build(final Object[] values) {
+        keyType = null;
+        valueClass = null;
+        supported = true;
+        nullRows = new BitSet(values.length);
+        positions = new int[values.length];
+        count = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == null) {
+                nullRows.set(i);
+            } else if (keyType == null) {
+                keyType = keyTypeOf(values[i]);
+                valueClass = values[i].getClass();
+            }
+            count += values[i] == null ? 0 : 1;
+        }
+        keys = new long[count];
+        rows = new int[count];
+        if (count > 0 && keyType == null) {
+            supported = false;
+            return;
+        }
+        int pos = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                if (keyTypeOf(values[i]) != keyType) {
+                    supported = false;
+                    return;
+                }
+                if (values[i].getClass() != valueClass) {
+                    valueClass = null;
+                }
+                keys[pos] = toKey(values[i]);
+                rows[pos] = i;
+                pos++;
+            }
+        }
+        sort(0, count - 1);
+        Arrays.fill(positions, -1);
+        for (int i = 0; i < count; i++) {
+            positions[rows[i]] = i;
+        }
+    }
+
+    @Override
+    public void update(final int row, final Object value) {
+        if (!supported) {
+            return;
+        }
+        if (value != null && keyType == null) {
+            keyType = keyTypeOf(value);
+            valueClass = value.getClass();
+        }
+        if (value != null && keyTypeOf(value) != keyType) {
+            supported = false;
+            return;
+        }
+        if (value != null && value.getClass() != valueClass) {
+            valueClass = null;
+        }
+        if (value == null) {
+            removeRow(row);
+            nullRows.set(row);
+        } else if (positions[row] >= 0) {
+            moveRow(row, toKey(value));
+        } else {
+            nullRows.clear(row);
+            insertRow(row, toKey(value));
+        }
+    }
+
+    @Override
+    public BitSet resolve(final SerializablePredicate<?> filter, final BitSet candidates) {
+        if (!supported) {
+            return null;
+        }
+        final BitSet result;
+        if (filter instanceof BetweenFilter) {
+            final BetweenFilter<?> betweenFilter = (BetweenFilter<?>) filter;
+            if (betweenFilter.getStartValue() == null && betweenFilter.getEndValue() == null) {
+                // matches everything including null values
+                result = (BitSet) nullRows.clone();
+                addSlice(result, 0, count);
+            } else {
+                if (!isConvertible(betweenFilter.getStartValue()) || !isConvertible(betweenFilter.getEndValue())) {
+                    return null;
+                }
+                final int from = betweenFilter.getStartValue() == null ?
+                                 0 :
+                                 lowerBound(toKey(betweenFilter.getStartValue()));
+                final int to = betweenFilter.getEndValue() == null ?
+                               count :
+                               upperBound(toKey(betweenFilter.getEndValue()));
+                result = new BitSet();
+                addSlice(result, from, to);
+            }
+        } else if (filter instanceof GreaterOrEqualFilter) {
+            final Object startValue = ((GreaterOrEqualFilter<?>) filter).getStartValue();
+            if (!isConvertible(startValue)) {
+                return null;
+            }
+            result = new BitSet();
+            addSlice(result, lowerBound(toKey(startValue)), count);
+        } else if (filter instanceof LessOrEqualFilter) {
+            final Object endValue = ((LessOrEqualFilter<?>) filter).getEndValue();
+            if (!isConvertible(endValue)) {
+                return null;
+            }
+            result = new BitSet();
+            addSlice(result, 0, upperBound(toKey(endValue)));
+        } else if (filter instanceof LongRangeFilter || filter instanceof IntRangeFilter) {
+            if (keyType != KeyType.LONG || (filter instanceof IntRangeFilter && valueClass != Integer.class
+                    && valueClass != Short.class && valueClass != Byte.class)) {
+                // an IntRangeFilter tests the int value of a Long
+                return null;
+            }
+            final long min = filter instanceof LongRangeFilter ?
+                             ((LongRangeFilter) filter).getMin() :
+                             ((IntRangeFilter) filter).getMin();
+            final long max = filter instanceof LongRangeFilter ?
+                             ((LongRangeFilter) filter).getMax() :
+                             ((IntRangeFilter) filter).getMax();
+            result = new BitSet();
+            addSlice(result, lowerBound(min), upperBound(max));
+        } else if (filter instanceof DoubleRangeFilter) {
+            if (keyType != KeyType.DOUBLE) {
+                return null;
+            }
+            final DoubleRangeFilter rangeFilter = (DoubleRangeFilter) filter;
+            result = new BitSet();
+            if (rangeFilter.getMin() <= rangeFilter.getMax()) {
+                // keys distinguish -0.0 and 0.0 while both are equal when compared as primitives
+                final double min = rangeFilter.getMin() == 0d ? -0d : rangeFilter.getMin();
+                final double max = rangeFilter.getMax() == 0d ? 0d : rangeFilter.getMax();
+                addSlice(result, lowerBound(toKey(min)), upperBound(toKey(max)));
+            }
+        } else if (filter instanceof DateRangeFilter) {
+            final DateRangeFilter rangeFilter = (DateRangeFilter) filter;
+            result = new BitSet();
+            if (keyType == KeyType.DATE || keyType == KeyType.INSTANT) {
+                addSlice(result, lowerBound(rangeFilter.getMinMillis()), upperBound(rangeFilter.getMaxMillis()));
+            } else if (keyType == KeyType.LOCAL_DATE || keyType == KeyType.LOCAL_DATE_TIME) {
+                addSlice(result,
+                         lowerBound(rangeFilter.getMinLocalMillis()),
+                         upperBound(rangeFilter.getMaxLocalMillis()));
+            } else if (keyType != null) {
+                return null;
+            }
+        } else if (filter instanceof EqualFilter) {
+            final Object value = ((EqualFilter<?>) filter).getValue();
+            if (value == null) {
+                result = (BitSet) nullRows.clone();
+            } else {
+                if (!isConvertible(value)) {
+                    return null;
+                }
+                final long key = toKey(value);
+                result = new BitSet();
+                addSlice(result, lowerBound(key), upperBound(key));
+            }
+        } else {
+            return null;
+        }
+        if (candidates != null) {
+            result.and(candidates);
+        }
+        return result;
+    }
+
+    private void addSlice(final BitSet result, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            result.set(rows[i]);
+        }
+    }
+
+    /**
+     * @return first position with a key &gt;= the given key
+     */
+    private int lowerBound(final long key) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (keys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return first position with a key &gt; the given key
+     */
+    private int upperBound(final long key) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (keys[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * moves the entry of a row with a changed key to its new slot, only the entries in between get shifted
+     */
+    private void moveRow(final int row, final long key) {
+        final int from = positions[row];
+        // slot of the key once the entry got removed
+        int to = upperBound(key);
+        if (to > from) {
+            to--;
+        }
+        if (from < to) {
+            System.arraycopy(keys, from + 1, keys, from, to - from);
+            System.arraycopy(rows, from + 1, rows, from, to - from);
+        } else if (to < from) {
+            System.arraycopy(keys, to, keys, to + 1, from - to);
+            System.arraycopy(rows, to, rows, to + 1, from - to);
+        }
+        keys[to] = key;
+        rows[to] = row;
+        updatePositions(Math.min(from, to), Math.max(from, to) + 1);
+    }
+
+    private void removeRow(final int row) {
+        nullRows.clear(row);
+        final int pos = positions[row];
+        if (pos < 0) {
+            return;
+        }
+        count--;
+        System.arraycopy(keys, pos + 1, keys, pos, count - pos);
+        System.arraycopy(rows, pos + 1, rows, pos, count - pos);
+        positions[row] = -1;
+        updatePositions(pos, count);
+    }
+
+    private void insertRow(final int row, final long key) {
+        if (count == keys.length) {
+            final int capacity = Math.max(8, count + (count >> 1));
+            keys = Arrays.copyOf(keys, capacity);
+            rows = Arrays.copyOf(rows, capacity);
+        }
+        final int pos = upperBound(key);
+        System.arraycopy(keys, pos, keys, pos + 1, count - pos);
+        System.arraycopy(rows, pos, rows, pos + 1, count - pos);
+        keys[pos] = key;
+        rows[pos] = row;
+        count++;
+        updatePositions(pos, count);
+    }
+
+    private void updatePositions(final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            positions[rows[i]] = i;
+        }
+    }
+
+    private static KeyType keyTypeOf(final Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return KeyType.LONG;
+        } else if (value instanceof Double || value instanceof Float) {
+            return KeyType.DOUBLE;
+        } else if (value instanceof Date) {
+            return KeyType.DATE;
+        } else if (value instanceof Instant) {
+            return KeyType.INSTANT;
+        } else if (value instanceof LocalDate) {
+            return KeyType.LOCAL_DATE;
+        } else if (value instanceof LocalDateTime) {
+            return KeyType.LOCAL_DATE_TIME;
+        }
+        return null;
+    }
+
+    /**
+     * @return true when the bound of an {@link EqualFilter} or comparable range filter has the class of the values, the
+     * filters neither consider an Integer equal to a Long nor compare them
+     */
+    private boolean isConvertible(final Object bound) {
+        return bound == null || (keyTypeOf(bound) == keyType && bound.getClass() == valueClass);
+    }
+
+    private long toKey(final Object value) {
+        switch (keyType) {
+            case DOUBLE:
+                // maps the double order preserving onto a signed long
+                final long bits = Double.doubleToLongBits(((Number) value).doubleValue());
+                return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+            case DATE:
+                return ((Date) value).getTime();
+            case INSTANT:
+                return ((Instant) value).toEpochMilli();
+            case LOCAL_DATE:
+                return DateRangeFilter.toLocalMillis((LocalDate) value);
+            case LOCAL_DATE_TIME:
+                return DateRangeFilter.toLocalMillis((LocalDateTime) value);
+            default:
+                return ((Number) value).longValue();
+        }
+    }
+
+    /**
+     * quicksort of keys with rows as parallel array
+     */
+    private void sort(int low, int high) {
+        while (high - low > 16) {
+            final long pivot = median(keys[low], keys[(low + high) >>> 1], keys[high]);
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (keys[i] < pivot) {
+                    i++;
+                }
+                while (keys[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+            // recurse into the smaller part to keep the stack small
+            if (j - low < high - i) {
+                sort(low, j);
+                low = i;
+            } else {
+                sort(i, high);
+                high = j;
+            }
+        }
+        for (int i = low + 1; i <= high; i++) {
+            for (int j = i; j > low && keys[j - 1] > keys[j]; j--) {
+                swap(j, j - 1);
+            }
+        }
+    }
+
+    private static long median(final long a, final long b, final long c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    private void swap(final int i, final int j) {
+        final long key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        final int row = rows[i];
+        rows[i] = rows[j];
+        rows[j] = row;
+    }
+}
@@ -0,0 +1,182 @@
+package org.vaadin.gridutil.cell.index;
+
+import com.vaadin.server.SerializablePredicate;
+import org.vaadin.gridutil.cell.filter.SimpleStringFilter;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * trigram index for case insensitive "contains" text filters on large columns<br>
+ * each row is listed under every trigram (three consecutive chars) of its normalized text. A filter text with at
+ * least three chars narrows the candidates to rows containing all of its trigrams, which then get verified. The
+ * trigrams are built in the background - until they are ready and for shorter filter texts the normalized text gets
+ * scanned like in {@link NormalizedTextIndex}.
+ */
+public class TrigramIndex extends NormalizedTextIndex {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int[] NO_ROWS = new int[0];
+
+    private final transient Executor executor;
+
+    private transient volatile Map<Long, int[]> postings;
+
+    private transient CompletableFuture<?> building;
+
+    /**
+     * rows updated after the trigrams got built, they are always verified
+     */
+    private BitSet updatedRows = new BitSet();
+
+    public TrigramIndex() {
+        this(false);
+    }
+
+    /**
+     * @param stripAccents when true "Müller" is found by "muller" as well
+     */
+    public TrigramIndex(final boolean stripAccents) {
+        this(stripAccents, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param stripAccents when true "Müller" is found by "muller" as well
+     * @param executor     that builds the trigrams in the background
+     */
+    public TrigramIndex(final boolean stripAccents, final Executor executor) {
+        super(stripAccents);
+        this.executor = executor;
+    }
+
+    @Override
+    public synchronized void build(final Object[] values) {
+        super.build(values);
+        if (building != null) {
+            building.cancel(false);
+        }
+        postings = null;
+        updatedRows = new BitSet();
+        startBuilding();
+    }
+
+    private void startBuilding() {
+        final String[] texts = getValues();
+        final CompletableFuture<Map<Long, int[]>> future = CompletableFuture.supplyAsync(() -> buildPostings(texts),
+                                                                                         executor != null ?
+                                                                                         executor :
+                                                                                         ForkJoinPool.commonPool());
+        building = future;
+        future.thenAccept(result -> {
+            synchronized (this) {
+                if (building == future) {
+                    postings = result;
+                    building = null;
+                }
+            }
+        });
+    }
+
+    @Override
+    public synchronized void update(final int row, final Object value) {
+        super.update(row, value);
+        updatedRows.set(row);
+    }
+
+    /**
+     * @return true when the trigrams are built and used for filtering
+     */
+    public boolean isReady() {
+        return postings != null;
+    }
+
+    @Override
+    public synchronized BitSet resolve(final SerializablePredicate<?> filter, final BitSet candidates) {
+        final Map<Long, int[]> postings = this.postings;
+        if (postings == null && building == null && getValues().length > 0) {
+            // e.g. after deserialization
+            startBuilding();
+        }
+        if (postings == null || !(filter instanceof SimpleStringFilter) || !((SimpleStringFilter) filter)
+                .isIgnoreCase()) {
+            return super.resolve(filter, candidates);
+        }
+        final String text = normalize(((SimpleStringFilter) filter).getFilterString());
+        if (text == null || text.length() < 3) {
+            return super.resolve(filter, candidates);
+        }
+
+        // intersect the posting lists starting with the shortest one
+        final int[][] lists = new int[text.length() - 2][];
+        for (int i = 0; i < lists.length; i++) {
+            final int[] rows = postings.get(trigram(text, i));
+            lists[i] = rows != null ? rows : NO_ROWS;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.length, b.length));
+        final BitSet narrowed = new BitSet();
+        for (int row : lists[0]) {
+            narrowed.set(row);
+        }
+        for (int i = 1; i < lists.length && !narrowed.isEmpty(); i++) {
+            final BitSet next = new BitSet();
+            for (int row : lists[i]) {
+                next.set(row);
+            }
+            narrowed.and(next);
+        }
+        narrowed.or(updatedRows);
+        if (candidates != null) {
+            narrowed.and(candidates);
+        }
+        return super.resolve(filter, narrowed);
+    }
+
+    private static Map<Long, int[]> buildPostings(final String[] texts) {
+        final Map<Long, RowList> lists = new HashMap<>();
+        for (int row = 0; row < texts.length; row++) {
+            final String text = texts[row];
+            if (text == null) {
+                continue;
+            }
+            for (int i = 0; i + 3 <= text.length(); i++) {
+                lists.computeIfAbsent(trigram(text, i), key -> new RowList())
+                     .add(row);
+            }
+        }
+        final Map<Long, int[]> postings = new HashMap<>(lists.size() * 2);
+        lists.forEach((key, list) -> postings.put(key, list.toArray()));
+        return postings;
+    }
+
+    private static long trigram(final String text, final int offset) {
+        return ((long) text.charAt(offset) << 32) | ((long) text.charAt(offset + 1) << 16) | text.charAt(offset + 2);
+    }
+
+    /**
+     * growing list of ascending row positions without duplicates
+     */
+    private static class RowList {
+        private int[] rows = new int[4];
+        private int size;
+
+        void add(final int row) {
+            if (size > 0 && rows[size - 1] == row) {
+                return;
+            }
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(rows, size);
+        }
+    }
+}
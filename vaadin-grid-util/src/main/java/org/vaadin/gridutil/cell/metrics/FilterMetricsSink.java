@@ -0,0 +1,57 @@
+package org.vaadin.gridutil.cell.metrics;
+
+import org.vaadin.gridutil.cell.CellFilterChangedListener;
+import org.vaadin.gridutil.cell.FilterPlan;
+import org.vaadin.gridutil.cell.GridCellFilter;
+
+import java.io.Serializable;
+
+/**
+ * receives the performance metrics of a {@link GridCellFilter}<br>
+ * the methods get called within the session lock right after the measured step, so implementations should only
+ * record the values and return quickly. All methods do nothing by default so that a sink only implements the metrics
+ * it is interested in.
+ */
+public interface FilterMetricsSink extends Serializable {
+
+    /**
+     * time spent compiling the assigned filters into a {@link FilterPlan}
+     *
+     * @param nanos duration of the build
+     */
+    default void recordPlanBuild(long nanos) {
+    }
+
+    /**
+     * an in memory filter refresh finished and got applied to the grid
+     *
+     * @param rows        amount of rows of the grid
+     * @param rowsScanned amount of rows tested row by row, 0 when resolved by indexes or the result cache
+     * @param rowsMatched amount of rows matching all filters
+     * @param nanos       duration from the filter change until the result got applied
+     */
+    default void recordRefresh(int rows, int rowsScanned, int rowsMatched, long nanos) {
+    }
+
+    /**
+     * time spent evaluating one filter during a scan<br>
+     * estimated from the items sampled by the {@link FilterPlan}, so both values are multiples of
+     * {@link FilterPlan#SAMPLE_INTERVAL}. Sampled items get tested by every filter and the samples include the
+     * overhead of reading the clock, so both values are upper bounds for filters evaluated after others
+     *
+     * @param cellFilterId id of the filter
+     * @param evaluations  estimated amount of evaluations
+     * @param nanos        estimated duration of all evaluations (getter and predicate)
+     */
+    default void recordFilterEvaluation(GridCellFilter.CellFilterId cellFilterId, long evaluations, long nanos) {
+    }
+
+    /**
+     * time spent within a {@link CellFilterChangedListener}
+     *
+     * @param listener the notified listener
+     * @param nanos    duration of the notification
+     */
+    default void recordListener(CellFilterChangedListener listener, long nanos) {
+    }
+}
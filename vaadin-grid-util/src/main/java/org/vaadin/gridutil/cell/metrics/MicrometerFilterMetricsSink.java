@@ -0,0 +1,113 @@
+package org.vaadin.gridutil.cell.metrics;
+
+import com.vaadin.server.SerializableSupplier;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.vaadin.gridutil.cell.CellFilterChangedListener;
+import org.vaadin.gridutil.cell.GridCellFilter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * publishes the metrics of a {@link GridCellFilter} to a Micrometer {@link MeterRegistry}<br>
+ * Micrometer is an optional dependency of this addon and needs to be added to the application to use this sink. All
+ * meters are tagged with the given grid name, filter evaluations additionally with the column and listeners with
+ * their class (the declaring class for lambdas, see {@link #getListenerName(CellFilterChangedListener)}):
+ * <ul>
+ * <li>gridcellfilter.plan.build - timer</li>
+ * <li>gridcellfilter.refresh - timer</li>
+ * <li>gridcellfilter.rows.scanned / gridcellfilter.rows.matched - distribution summaries</li>
+ * <li>gridcellfilter.filter.evaluation - timer per column</li>
+ * <li>gridcellfilter.listener - timer per listener class</li>
+ * </ul>
+ * the registry is looked up via a serializable supplier, so the sink keeps working after the session got
+ * deserialized
+ */
+public class MicrometerFilterMetricsSink implements FilterMetricsSink {
+
+    private static final long serialVersionUID = 1L;
+
+    private final SerializableSupplier<MeterRegistry> registry;
+
+    private final String grid;
+
+    /**
+     * publishes to {@link Metrics#globalRegistry}
+     *
+     * @param grid name of the grid used as tag
+     */
+    public MicrometerFilterMetricsSink(final String grid) {
+        this(() -> Metrics.globalRegistry, grid);
+    }
+
+    /**
+     * @param registry supplies the registry to publish to
+     * @param grid     name of the grid used as tag
+     */
+    public MicrometerFilterMetricsSink(final SerializableSupplier<MeterRegistry> registry, final String grid) {
+        this.registry = registry;
+        this.grid = grid;
+    }
+
+    @Override
+    public void recordPlanBuild(final long nanos) {
+        timer("gridcellfilter.plan.build").register(registry.get())
+                                          .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordRefresh(final int rows, final int rowsScanned, final int rowsMatched, final long nanos) {
+        final MeterRegistry meterRegistry = registry.get();
+        timer("gridcellfilter.refresh").register(meterRegistry)
+                                       .record(nanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("gridcellfilter.rows.scanned")
+                           .tag("grid", grid)
+                           .register(meterRegistry)
+                           .record(rowsScanned);
+        DistributionSummary.builder("gridcellfilter.rows.matched")
+                           .tag("grid", grid)
+                           .register(meterRegistry)
+                           .record(rowsMatched);
+    }
+
+    @Override
+    public void recordFilterEvaluation(final GridCellFilter.CellFilterId cellFilterId,
+                                       final long evaluations,
+                                       final long nanos) {
+        final String column = cellFilterId.getColumnId() != null ?
+                              cellFilterId.getColumnId() :
+                              cellFilterId.getPropertyId() != null ? cellFilterId.getPropertyId() : "none";
+        timer("gridcellfilter.filter.evaluation").tag("column", column)
+                                                 .register(registry.get())
+                                                 .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordListener(final CellFilterChangedListener listener, final long nanos) {
+        timer("gridcellfilter.listener").tag("listener", getListenerName(listener))
+                                        .register(registry.get())
+                                        .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * name of the listener used as tag, override to supply own names<br>
+     * the class name of a lambda contains a counter and an address that differ per run (like
+     * "MyView$$Lambda$123/0x0000000800c0b440"), so lambdas are tagged with the name of the class declaring them
+     *
+     * @param listener the notified listener
+     * @return name of the listener's class without the lambda suffix
+     */
+    protected String getListenerName(final CellFilterChangedListener listener) {
+        final String name = listener.getClass()
+                                    .getName();
+        final int lambda = name.indexOf("$$Lambda");
+        return lambda > 0 ? name.substring(0, lambda) : name;
+    }
+
+    private Timer.Builder timer(final String name) {
+        return Timer.builder(name)
+                    .tag("grid", grid);
+    }
+}
@@ -0,0 +1,18 @@
+package org.vaadin.gridutil.cell.metrics;
+
+/**
+ * drops all metrics, used by default
+ */
+public final class NoOpFilterMetricsSink implements FilterMetricsSink {
+
+    public static final NoOpFilterMetricsSink INSTANCE = new NoOpFilterMetricsSink();
+
+    private static final long serialVersionUID = 1L;
+
+    private NoOpFilterMetricsSink() {
+    }
+
+    private Object readResolve() {
+        return INSTANCE;
+    }
+}
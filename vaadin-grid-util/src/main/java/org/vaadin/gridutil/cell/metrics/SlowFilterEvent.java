@@ -0,0 +1,137 @@
+package org.vaadin.gridutil.cell.metrics;
+
+import com.vaadin.server.SerializablePredicate;
+import org.vaadin.gridutil.cell.GridCellFilter;
+import org.vaadin.gridutil.cell.filter.ExpressibleFilter;
+import org.vaadin.gridutil.cell.query.FilterCondition;
+import org.vaadin.gridutil.cell.query.FilterOperator;
+
+import java.io.Serializable;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * filter refresh of a {@link GridCellFilter} that took longer than its slow filter threshold<br>
+ * gets logged as the single parameter of the log record, so that handlers can access the fields instead of parsing
+ * the message. Only numeric and date bounds are part of the event as entered, texts are reduced to their length and
+ * other values to their type.
+ */
+public class SlowFilterEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String gridId;
+
+    private final int rows;
+
+    private final int rowsScanned;
+
+    private final int rowsMatched;
+
+    private final long elapsedNanos;
+
+    private final Map<String, String> filters;
+
+    /**
+     * @param gridId       id of the grid, may be null
+     * @param rows         amount of rows of the grid
+     * @param rowsScanned  amount of rows tested row by row
+     * @param rowsMatched  amount of rows matching all filters
+     * @param elapsedNanos duration of the refresh
+     * @param filters      description of the assigned filters per columnId
+     */
+    public SlowFilterEvent(final String gridId,
+                           final int rows,
+                           final int rowsScanned,
+                           final int rowsMatched,
+                           final long elapsedNanos,
+                           final Map<String, String> filters) {
+        this.gridId = gridId;
+        this.rows = rows;
+        this.rowsScanned = rowsScanned;
+        this.rowsMatched = rowsMatched;
+        this.elapsedNanos = elapsedNanos;
+        this.filters = Collections.unmodifiableMap(new LinkedHashMap<>(filters));
+    }
+
+    /**
+     * describes the parameters of a filter: operator and bounds for numbers and dates, operator and length for texts
+     *
+     * @param propertyId id of the filtered property
+     * @param filter     the filter
+     * @return description of the filter, the class name when it is not an {@link ExpressibleFilter}
+     */
+    public static String describe(final String propertyId, final SerializablePredicate<?> filter) {
+        if (!(filter instanceof ExpressibleFilter)) {
+            return filter.getClass()
+                         .getName();
+        }
+        final FilterCondition condition = ((ExpressibleFilter<?>) filter).toCondition(propertyId);
+        if (condition.getOperator() == FilterOperator.STARTS_WITH || condition.getOperator() == FilterOperator
+                .CONTAINS) {
+            return condition.getOperator() + (condition.isIgnoreCase() ? " (ignoreCase)" : "") + " needleLength="
+                    + String.valueOf(condition.getOperand(0))
+                            .length();
+        }
+        final List<String> operands = new ArrayList<>();
+        for (Object operand : condition.getOperands()) {
+            operands.add(describeOperand(operand));
+        }
+        return condition.getOperator() + " " + operands;
+    }
+
+    /**
+     * @return the value of numbers and dates, the length of texts and the type of all other values
+     */
+    private static String describeOperand(final Object operand) {
+        if (operand == null || operand instanceof Number || operand instanceof Date || operand instanceof Temporal) {
+            return String.valueOf(operand);
+        }
+        if (operand instanceof CharSequence) {
+            return "length=" + ((CharSequence) operand).length();
+        }
+        return operand.getClass()
+                      .getSimpleName();
+    }
+
+    public String getGridId() {
+        return gridId;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getRowsScanned() {
+        return rowsScanned;
+    }
+
+    public int getRowsMatched() {
+        return rowsMatched;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return description of each assigned filter keyed by columnId, see {@link #describe(String,
+     * SerializablePredicate)}
+     */
+    public Map<String, String> getFilters() {
+        return filters;
+    }
+
+    @Override
+    public String toString() {
+        return "SlowFilterEvent[gridId=" + gridId + ", rows=" + rows + ", rowsScanned=" + rowsScanned
+                + ", rowsMatched=" + rowsMatched + ", elapsedMillis=" + TimeUnit.NANOSECONDS.toMillis(elapsedNanos)
+                + ", filters=" + filters + "]";
+    }
+}
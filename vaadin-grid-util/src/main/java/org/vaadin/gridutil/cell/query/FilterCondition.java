@@ -0,0 +1,129 @@
+package org.vaadin.gridutil.cell.query;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * single condition of the form (property, operator, operands)
+ */
+public class FilterCondition implements FilterNode {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String property;
+
+    private final FilterOperator operator;
+
+    private final List<Object> operands;
+
+    private final boolean ignoreCase;
+
+    /**
+     * @param property id of the property
+     * @param operator the operator
+     * @param operands values to compare with
+     */
+    public FilterCondition(final String property, final FilterOperator operator, final Object... operands) {
+        this(property, operator, false, operands);
+    }
+
+    /**
+     * condition for text operators like {@link FilterOperator#STARTS_WITH}
+     *
+     * @param property   id of the property
+     * @param operator   the operator
+     * @param text       text to search for, already case folded when ignoreCase like
+     *                   {@link org.vaadin.gridutil.cell.filter.SimpleStringFilter#foldCase(String)} does
+     * @param ignoreCase compare case insensitive
+     */
+    public FilterCondition(final String property,
+                           final FilterOperator operator,
+                           final String text,
+                           final boolean ignoreCase) {
+        this(property, operator, ignoreCase, new Object[]{text});
+    }
+
+    /**
+     * inclusive range of non null values, a null bound is open
+     *
+     * @param property id of the property
+     * @param min      lower bound or null
+     * @param max      upper bound or null
+     * @return {@link FilterOperator#BETWEEN}, {@link FilterOperator#GREATER_OR_EQUAL},
+     * {@link FilterOperator#LESS_OR_EQUAL} or {@link FilterOperator#IS_NOT_NULL} when both bounds are open
+     */
+    public static FilterCondition range(final String property, final Object min, final Object max) {
+        if (min != null && max != null) {
+            return new FilterCondition(property, FilterOperator.BETWEEN, min, max);
+        } else if (min != null) {
+            return new FilterCondition(property, FilterOperator.GREATER_OR_EQUAL, min);
+        } else if (max != null) {
+            return new FilterCondition(property, FilterOperator.LESS_OR_EQUAL, max);
+        }
+        return new FilterCondition(property, FilterOperator.IS_NOT_NULL);
+    }
+
+    private FilterCondition(final String property,
+                            final FilterOperator operator,
+                            final boolean ignoreCase,
+                            final Object[] operands) {
+        this.property = Objects.requireNonNull(property, "property");
+        this.operator = Objects.requireNonNull(operator, "operator");
+        this.ignoreCase = ignoreCase;
+        this.operands = Collections.unmodifiableList(Arrays.asList(operands));
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public FilterOperator getOperator() {
+        return operator;
+    }
+
+    public List<Object> getOperands() {
+        return operands;
+    }
+
+    /**
+     * @param index position of the operand
+     * @return the operand
+     */
+    public Object getOperand(final int index) {
+        return operands.get(index);
+    }
+
+    public boolean isIgnoreCase() {
+        return ignoreCase;
+    }
+
+    @Override
+    public <R> R accept(final FilterVisitor<R> visitor) {
+        return visitor.visit(this);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final FilterCondition that = (FilterCondition) o;
+        return ignoreCase == that.ignoreCase && property.equals(that.property) && operator == that.operator &&
+                operands.equals(that.operands);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(property, operator, operands, ignoreCase);
+    }
+
+    @Override
+    public String toString() {
+        return property + " " + operator + (ignoreCase ? " (ignoreCase) " : " ") + operands;
+    }
+}
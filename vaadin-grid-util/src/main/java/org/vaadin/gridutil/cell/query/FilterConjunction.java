@@ -0,0 +1,49 @@
+package org.vaadin.gridutil.cell.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * all children need to match
+ */
+public class FilterConjunction implements FilterNode {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<FilterNode> children;
+
+    public FilterConjunction(final List<? extends FilterNode> children) {
+        this.children = Collections.unmodifiableList(new ArrayList<>(children));
+    }
+
+    public List<FilterNode> getChildren() {
+        return children;
+    }
+
+    @Override
+    public <R> R accept(final FilterVisitor<R> visitor) {
+        return visitor.visit(this);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return children.equals(((FilterConjunction) o).children);
+    }
+
+    @Override
+    public int hashCode() {
+        return children.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "AND" + children;
+    }
+}
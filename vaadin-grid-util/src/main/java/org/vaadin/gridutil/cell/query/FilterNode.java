@@ -0,0 +1,16 @@
+package org.vaadin.gridutil.cell.query;
+
+import java.io.Serializable;
+
+/**
+ * node of the filter tree built from the assigned cell filters
+ */
+public interface FilterNode extends Serializable {
+
+    /**
+     * @param visitor that should handle this node
+     * @param <R>     result type of the visitor
+     * @return result of the visitor
+     */
+    <R> R accept(FilterVisitor<R> visitor);
+}
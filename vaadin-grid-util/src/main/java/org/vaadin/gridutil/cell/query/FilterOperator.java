@@ -0,0 +1,43 @@
+package org.vaadin.gridutil.cell.query;
+
+/**
+ * operators of a {@link FilterCondition}
+ */
+public enum FilterOperator {
+    /**
+     * property equals the single operand
+     */
+    EQUAL,
+    /**
+     * property is null, no operands
+     */
+    IS_NULL,
+    /**
+     * property is not null, no operands
+     */
+    IS_NOT_NULL,
+    /**
+     * property is between both operands (inclusive)
+     */
+    BETWEEN,
+    /**
+     * property is greater or equal the single operand
+     */
+    GREATER_OR_EQUAL,
+    /**
+     * property is less or equal the single operand
+     */
+    LESS_OR_EQUAL,
+    /**
+     * text property starts with the single operand
+     */
+    STARTS_WITH,
+    /**
+     * text property contains the single operand
+     */
+    CONTAINS,
+    /**
+     * every value matches including null, no operands
+     */
+    ANY
+}
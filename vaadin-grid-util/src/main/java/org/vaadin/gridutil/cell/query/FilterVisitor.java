@@ -0,0 +1,14 @@
+package org.vaadin.gridutil.cell.query;
+
+/**
+ * visitor in order to translate a {@link FilterNode} tree into a back-end specific form like SQL, JPA criteria or a
+ * search engine query
+ *
+ * @param <R> result type
+ */
+public interface FilterVisitor<R> {
+
+    R visit(FilterCondition condition);
+
+    R visit(FilterConjunction conjunction);
+}
@@ -0,0 +1,203 @@
+package org.vaadin.gridutil.cell.query;
+
+import com.vaadin.server.SerializableFunction;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * renders a {@link FilterNode} tree into a JDBC where clause with bind parameters<br>
+ * range and prefix conditions are rendered as plain comparisons and <code>LIKE 'x%'</code> so that the database is
+ * able to use its indexes. Case insensitive text conditions are rendered as <code>LOWER(column)</code>, which needs a
+ * function based index to be index supported. java.util.Date operands are bound as {@link Timestamp} and enums by
+ * their name.
+ *
+ * <pre>
+ * JdbcWhereClause where = JdbcWhereClause.of(filter.getFilterCriteria().toFilterNode());
+ * PreparedStatement statement = connection.prepareStatement("SELECT * FROM inhabitants WHERE " + where.getSql());
+ * where.bind(statement, 1);
+ * </pre>
+ */
+public class JdbcWhereClause implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)*");
+
+    /**
+     * escape char of LIKE patterns, a backslash would be read as escape within the string literal by some databases
+     */
+    private static final char LIKE_ESCAPE = '!';
+
+    private final String sql;
+
+    private final List<Object> parameters;
+
+    private JdbcWhereClause(final String sql, final List<Object> parameters) {
+        this.sql = sql;
+        this.parameters = Collections.unmodifiableList(parameters);
+    }
+
+    /**
+     * renders the tree using the propertyIds as column names
+     *
+     * @param node the filter tree
+     * @return where clause without the WHERE keyword
+     */
+    public static JdbcWhereClause of(final FilterNode node) {
+        return of(node, propertyId -> propertyId);
+    }
+
+    /**
+     * renders the tree
+     *
+     * @param node         the filter tree
+     * @param columnMapper maps a propertyId to the column name, the result needs to be a plain (qualified) identifier
+     * @return where clause without the WHERE keyword
+     */
+    public static JdbcWhereClause of(final FilterNode node, final SerializableFunction<String, String> columnMapper) {
+        final List<Object> parameters = new ArrayList<>();
+        final String sql = node.accept(new Renderer(columnMapper, parameters));
+        return new JdbcWhereClause(sql, parameters);
+    }
+
+    /**
+     * @return the condition with ? placeholders, never empty
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * @return values of the placeholders in order
+     */
+    public List<Object> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * binds all parameters
+     *
+     * @param statement  prepared with a sql containing this where clause
+     * @param startIndex index of the first placeholder of this clause within the statement
+     * @return index of the next placeholder after this clause
+     * @throws SQLException thrown by the statement
+     */
+    public int bind(final PreparedStatement statement, final int startIndex) throws SQLException {
+        int index = startIndex;
+        for (Object parameter : parameters) {
+            statement.setObject(index++, parameter);
+        }
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return sql + " " + parameters;
+    }
+
+    private static class Renderer implements FilterVisitor<String> {
+
+        private final SerializableFunction<String, String> columnMapper;
+
+        private final List<Object> parameters;
+
+        Renderer(final SerializableFunction<String, String> columnMapper, final List<Object> parameters) {
+            this.columnMapper = columnMapper;
+            this.parameters = parameters;
+        }
+
+        @Override
+        public String visit(final FilterConjunction conjunction) {
+            if (conjunction.getChildren()
+                           .isEmpty()) {
+                return "1=1";
+            }
+            final StringBuilder sql = new StringBuilder();
+            for (FilterNode child : conjunction.getChildren()) {
+                if (sql.length() > 0) {
+                    sql.append(" AND ");
+                }
+                sql.append('(')
+                   .append(child.accept(this))
+                   .append(')');
+            }
+            return sql.toString();
+        }
+
+        @Override
+        public String visit(final FilterCondition condition) {
+            final String column = column(condition.getProperty());
+            switch (condition.getOperator()) {
+                case EQUAL:
+                    return column + " = " + parameter(condition.getOperand(0));
+                case IS_NULL:
+                    return column + " IS NULL";
+                case IS_NOT_NULL:
+                    return column + " IS NOT NULL";
+                case BETWEEN:
+                    return column + " BETWEEN " + parameter(condition.getOperand(0)) + " AND " + parameter(condition
+                            .getOperand(1));
+                case GREATER_OR_EQUAL:
+                    return column + " >= " + parameter(condition.getOperand(0));
+                case LESS_OR_EQUAL:
+                    return column + " <= " + parameter(condition.getOperand(0));
+                case STARTS_WITH:
+                    return like(condition, column, escapeLike(String.valueOf(condition.getOperand(0))) + "%");
+                case CONTAINS:
+                    return like(condition, column, "%" + escapeLike(String.valueOf(condition.getOperand(0))) + "%");
+                case ANY:
+                    return "1=1";
+                default:
+                    throw new IllegalArgumentException("unsupported operator " + condition.getOperator());
+            }
+        }
+
+        private String like(final FilterCondition condition, final String column, final String pattern) {
+            final String target = condition.isIgnoreCase() ? "LOWER(" + column + ")" : column;
+            return target + " LIKE " + parameter(pattern) + " ESCAPE '" + LIKE_ESCAPE + "'";
+        }
+
+        private String column(final String propertyId) {
+            final String column = columnMapper.apply(propertyId);
+            if (column == null || !IDENTIFIER.matcher(column)
+                                             .matches()) {
+                throw new IllegalArgumentException(String.format("invalid column name %s for propertyId %s",
+                                                                 column,
+                                                                 propertyId));
+            }
+            return column;
+        }
+
+        private String parameter(final Object value) {
+            if (value instanceof Date && value.getClass()
+                                              .equals(Date.class)) {
+                parameters.add(new Timestamp(((Date) value).getTime()));
+            } else if (value instanceof Enum) {
+                parameters.add(((Enum<?>) value).name());
+            } else {
+                parameters.add(value);
+            }
+            return "?";
+        }
+
+        private static String escapeLike(final String value) {
+            final StringBuilder escaped = new StringBuilder(value.length() + 4);
+            for (int i = 0; i < value.length(); i++) {
+                final char c = value.charAt(i);
+                if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                    escaped.append(LIKE_ESCAPE);
+                }
+                escaped.append(c);
+            }
+            return escaped.toString();
+        }
+    }
+}
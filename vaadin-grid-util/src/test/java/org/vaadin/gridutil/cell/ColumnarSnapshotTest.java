@@ -0,0 +1,178 @@
+package org.vaadin.gridutil.cell;
+
+import com.vaadin.data.provider.ListDataProvider;
+import com.vaadin.data.provider.Query;
+import com.vaadin.server.SerializablePredicate;
+import com.vaadin.ui.Grid;
+import org.junit.Before;
+import org.junit.Test;
+import org.vaadin.gridutil.cell.GridCellFilterNarrowingTest.Person;
+import org.vaadin.gridutil.cell.filter.EqualFilter;
+import org.vaadin.gridutil.cell.filter.SimpleStringFilter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * dictionary encoded columns updated row by row: values no row refers to anymore free their codes for the next new
+ * values, and the column drops out of dictionary mode once it has too many distinct values. Both have to keep the same
+ * rows as testing every item.
+ */
+public class ColumnarSnapshotTest {
+
+    private static final int ROWS = 3200;
+
+    // dictionary mode ends beyond ROWS / 16 distinct values
+    private static final int MAX_DISTINCT = ROWS / 16;
+
+    private final Random random = new Random(3);
+
+    private List<Person> persons;
+
+    private RowSnapshot<Person> rowSnapshot;
+
+    private ColumnarSnapshot<Person> columnarSnapshot;
+
+    private GridCellFilter<Person>.CellFilterId name;
+
+    @Before
+    public void setUp() {
+        persons = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            persons.add(new Person("n" + i % 50, i));
+        }
+        final Grid<Person> grid = new Grid<>(Person.class);
+        grid.setItems(persons);
+        name = new GridCellFilter<>(grid, Person.class).createCellFilterId("name");
+        rowSnapshot = new RowSnapshot<>(new ListDataProvider<>(persons));
+        columnarSnapshot = new ColumnarSnapshot<>();
+    }
+
+    private List<SerializablePredicate<String>> filters() {
+        String value = null;
+        while (value == null) {
+            value = persons.get(random.nextInt(ROWS))
+                           .getName();
+        }
+        return Arrays.asList(new EqualFilter<>(value),
+                             new SimpleStringFilter(value.substring(0, 2), true, true),
+                             new SimpleStringFilter(value.substring(1), false, false),
+                             new EqualFilter<>(null));
+    }
+
+    private BitSet scan(final SerializablePredicate<String> filter, final BitSet candidates) {
+        final BitSet result = new BitSet();
+        for (int i = 0; i < ROWS; i++) {
+            if ((candidates == null || candidates.get(i)) && filter.test(persons.get(i)
+                                                                                .getName())) {
+                result.set(i);
+            }
+        }
+        return result;
+    }
+
+    private BitSet resolve(final SerializablePredicate<String> filter, final BitSet candidates) {
+        return columnarSnapshot.resolve(rowSnapshot, name, null, filter, candidates);
+    }
+
+    /**
+     * @return true when all filters got resolved by the column
+     */
+    private boolean assertResolvesLikeScan() {
+        boolean resolved = true;
+        for (SerializablePredicate<String> filter : filters()) {
+            final BitSet all = resolve(filter, null);
+            if (all != null) {
+                assertEquals(filter.toString(), scan(filter, null), all);
+            }
+            // a few candidates get tested one by one
+            final BitSet candidates = new BitSet();
+            for (int i = 0; i < 20; i++) {
+                candidates.set(random.nextInt(ROWS));
+            }
+            final BitSet some = resolve(filter, candidates);
+            if (some != null) {
+                assertEquals(filter.toString(), scan(filter, candidates), some);
+            }
+            resolved &= all != null && some != null;
+        }
+        return resolved;
+    }
+
+    private void setName(final int row, final String value) {
+        persons.get(row)
+               .setName(value);
+        columnarSnapshot.update(rowSnapshot, row, persons.get(row));
+    }
+
+    @Test
+    public void reusesFreedCodes() {
+        assertTrue(assertResolvesLikeScan());
+        // many more values than the column may hold at once pass through it, a few at a time
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < ROWS; i++) {
+                if (random.nextBoolean()) {
+                    setName(i, random.nextInt(10) == 0 ? null : "r" + round + "-" + random.nextInt(15));
+                }
+            }
+            assertTrue("round " + round, assertResolvesLikeScan());
+        }
+    }
+
+    @Test
+    public void dropsOutOfDictionaryMode() {
+        assertTrue(assertResolvesLikeScan());
+        int row = 0;
+        while (assertResolvesLikeScan()) {
+            // one new distinct value per step
+            setName(row, "u" + row);
+            row++;
+        }
+        assertEquals(MAX_DISTINCT - 50 + 1, row);
+        for (SerializablePredicate<String> filter : filters()) {
+            assertNull(resolve(filter, null));
+        }
+        // the released column ignores updates and keeps leaving filters to the scan
+        setName(0, "n0");
+        assertNull(resolve(new EqualFilter<>("n0"), null));
+        // extracted again once the rows changed
+        for (int i = 0; i < row; i++) {
+            persons.get(i)
+                   .setName("n" + i % 50);
+        }
+        rowSnapshot.invalidate();
+        assertTrue(assertResolvesLikeScan());
+    }
+
+    @Test
+    public void gridKeepsFilteringAfterChurnAndRelease() {
+        final Grid<Person> grid = new Grid<>(Person.class);
+        grid.setItems(persons);
+        final GridCellFilter<Person> gridCellFilter = new GridCellFilter<>(grid, Person.class);
+        gridCellFilter.setColumnarFiltering(true);
+        for (int round = 0; round < 8; round++) {
+            final SimpleStringFilter filter = new SimpleStringFilter(round < 6 ? "r" : "u1", true, true);
+            gridCellFilter.replaceFilter(filter, gridCellFilter.createCellFilterId("name"));
+            final long expected = persons.stream()
+                                         .filter(person -> filter.test(person.getName()))
+                                         .count();
+            assertEquals("round " + round, expected, grid.getDataProvider()
+                                                         .size(new Query<>()));
+            for (int i = 0; i < ROWS; i++) {
+                if (round >= 5 || random.nextInt(3) == 0) {
+                    persons.get(i)
+                           .setName(round < 5 ? "r" + round + "-" + random.nextInt(60) : "u" + i);
+                    grid.getDataProvider()
+                        .refreshItem(persons.get(i));
+                }
+            }
+        }
+    }
+}
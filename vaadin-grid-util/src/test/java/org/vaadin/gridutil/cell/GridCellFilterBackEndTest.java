@@ -0,0 +1,85 @@
+package org.vaadin.gridutil.cell;
+
+import com.vaadin.data.provider.DataProvider;
+import com.vaadin.data.provider.Query;
+import com.vaadin.server.SerializablePredicate;
+import com.vaadin.ui.Grid;
+import org.junit.Before;
+import org.junit.Test;
+import org.vaadin.gridutil.cell.filter.IntRangeFilter;
+import org.vaadin.gridutil.cell.filter.SimpleStringFilter;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * filters of a grid backed by a back-end data provider reach it as {@link CellFilterCriteria}
+ */
+public class GridCellFilterBackEndTest {
+
+    private final AtomicReference<CellFilterCriteria> received = new AtomicReference<>();
+
+    private Grid<GridCellFilterNarrowingTest.Person> grid;
+
+    private GridCellFilter<GridCellFilterNarrowingTest.Person> filter;
+
+    @Before
+    public void setUp() {
+        final DataProvider<GridCellFilterNarrowingTest.Person, CellFilterCriteria> dataProvider =
+                DataProvider.fromFilteringCallbacks(query -> Stream.empty(), query -> {
+                    received.set(query.getFilter()
+                                      .orElse(null));
+                    return 0;
+                });
+        grid = new Grid<>(GridCellFilterNarrowingTest.Person.class);
+        filter = new GridCellFilter<>(grid,
+                                      GridCellFilterNarrowingTest.Person.class,
+                                      dataProvider.withConfigurableFilter());
+    }
+
+    private CellFilterCriteria query() {
+        grid.getDataProvider()
+            .size(new Query<>());
+        return received.get();
+    }
+
+    @Test
+    public void filtersOfTheSamePropertyAreKeptPerColumn() {
+        filter.replaceFilter(IntRangeFilter.of(10, null), filter.createCellFilterId("minSize", "size"));
+        filter.replaceFilter(IntRangeFilter.of(null, 20), filter.createCellFilterId("maxSize", "size"));
+        filter.replaceFilter(new SimpleStringFilter("an", true, false), filter.createCellFilterId("name"));
+        final CellFilterCriteria criteria = query();
+        assertEquals(2, criteria.getFilters("size")
+                                .size());
+        assertTrue(criteria.getFilters("size")
+                           .containsAll(Arrays.asList(IntRangeFilter.of(10, null), IntRangeFilter.of(null, 20))));
+        assertEquals(1, criteria.getFilters("name")
+                                .size());
+        assertTrue(criteria.getFilters("id")
+                           .isEmpty());
+        assertEquals(3, criteria.toFilterNode()
+                                .getChildren()
+                                .size());
+
+        filter.removeFilter(filter.createCellFilterId("minSize", "size"));
+        assertEquals(Arrays.asList(IntRangeFilter.of(null, 20)), query().getFilters("size"));
+    }
+
+    @Test
+    public void rejectsFiltersTheBackEndCantTranslate() {
+        filter.replaceFilter(new SimpleStringFilter("an", true, false), filter.createCellFilterId("name"));
+        final SerializablePredicate<String> custom = value -> value != null && value.length() > 3;
+        try {
+            filter.replaceFilter(custom, filter.createCellFilterId("name"));
+            fail("non expressible filter accepted");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertEquals(Arrays.asList(new SimpleStringFilter("an", true, false)), query().getFilters("name"));
+    }
+}
@@ -0,0 +1,122 @@
+package org.vaadin.gridutil.cell;
+
+import com.vaadin.data.provider.Query;
+import com.vaadin.server.SerializablePredicate;
+import com.vaadin.ui.Grid;
+import org.junit.Test;
+import org.vaadin.gridutil.cell.filter.BetweenFilter;
+import org.vaadin.gridutil.cell.filter.EqualFilter;
+import org.vaadin.gridutil.cell.filter.IntRangeFilter;
+import org.vaadin.gridutil.cell.filter.SimpleStringFilter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * narrowing filters only re-check the rows matched before, the result has to equal a filter of all rows
+ */
+public class GridCellFilterNarrowingTest {
+
+    private static final String[] NAMES = {"Anna", "annabelle", "Hanna", "Bernd", "bernadette", "İlker", "ilse", "Maſs"};
+
+    public static class Person {
+
+        private String name;
+
+        private Integer size;
+
+        public Person() {
+        }
+
+        Person(final String name, final Integer size) {
+            this.name = name;
+            this.size = size;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(final String name) {
+            this.name = name;
+        }
+
+        public Integer getSize() {
+            return size;
+        }
+
+        public void setSize(final Integer size) {
+            this.size = size;
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void narrowingAndWideningMatchesAFullScan() {
+        final Random random = new Random(7);
+        final List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            persons.add(new Person(random.nextInt(10) == 0 ? null : NAMES[random.nextInt(NAMES.length)] + i % 13,
+                                   random.nextInt(10) == 0 ? null : random.nextInt(100)));
+        }
+        final Grid<Person> grid = new Grid<>(Person.class);
+        grid.setItems(persons);
+        final GridCellFilter<Person> filter = new GridCellFilter<>(grid, Person.class);
+        final Map<String, SerializablePredicate> assigned = new LinkedHashMap<>();
+        for (int step = 0; step < 500; step++) {
+            final String column = random.nextBoolean() ? "name" : "size";
+            final SerializablePredicate next = "name".equals(column) ? nextNameFilter(random) : nextSizeFilter(random);
+            if (next == null) {
+                assigned.remove(column);
+                filter.removeFilter(filter.createCellFilterId(column));
+            } else {
+                assigned.put(column, next);
+                filter.replaceFilter(next, filter.createCellFilterId(column));
+            }
+            final long expected = persons.stream()
+                                         .filter(person -> (!assigned.containsKey("name") || assigned.get("name")
+                                                                                                     .test(person.getName()))
+                                                 && (!assigned.containsKey("size") || assigned.get("size")
+                                                                                              .test(person.getSize())))
+                                         .count();
+            assertEquals("step " + step + " " + assigned, expected, grid.getDataProvider()
+                                                                        .size(new Query<>()));
+        }
+    }
+
+    private static SerializablePredicate nextNameFilter(final Random random) {
+        if (random.nextInt(8) == 0) {
+            return null;
+        }
+        final String name = NAMES[random.nextInt(NAMES.length)];
+        final int from = random.nextInt(2);
+        final String needle = name.substring(from, from + 1 + random.nextInt(name.length() - from));
+        return new SimpleStringFilter(random.nextBoolean() ? needle.toUpperCase() : needle,
+                                      random.nextBoolean(),
+                                      from == 0 && random.nextBoolean());
+    }
+
+    private static SerializablePredicate nextSizeFilter(final Random random) {
+        final int min = random.nextInt(100);
+        final int max = min + random.nextInt(50);
+        switch (random.nextInt(6)) {
+            case 0:
+                return null;
+            case 1:
+                return new EqualFilter<>(min);
+            case 2:
+                return new BetweenFilter<>(min, max);
+            case 3:
+                return new BetweenFilter<>(random.nextBoolean() ? min : null, random.nextBoolean() ? max : null);
+            case 4:
+                return IntRangeFilter.of(min, random.nextBoolean() ? max : null);
+            default:
+                return IntRangeFilter.of(null, max);
+        }
+    }
+}
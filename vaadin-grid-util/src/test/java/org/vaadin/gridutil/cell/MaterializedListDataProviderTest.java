@@ -0,0 +1,129 @@
+package org.vaadin.gridutil.cell;
+
+import com.vaadin.data.provider.Query;
+import com.vaadin.server.SerializableComparator;
+import com.vaadin.server.SerializablePredicate;
+import org.junit.Test;
+import org.vaadin.gridutil.cell.GridCellFilterNarrowingTest.Person;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * sorted fetches of the materialized rows have to return the same order as a stable {@link List#sort(Comparator)} of
+ * the matching items - with many ties and sizes around the insertion sort threshold
+ */
+public class MaterializedListDataProviderTest {
+
+    private static final int[] SIZES = {0, 1, 2, 15, 16, 17, 31, 32, 33, 64, 100, 1000};
+
+    private static final SerializableComparator<Person> BY_SIZE = (a, b) -> Integer.compare(a.getSize(), b.getSize());
+
+    private static final Comparator<Person> BY_NAME_DESCENDING = Comparator.comparing(Person::getName)
+                                                                            .reversed();
+
+    private static List<Person> randomPersons(final Random random, final int size) {
+        final List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            // few distinct values to get many ties
+            persons.add(new Person(String.valueOf((char) ('a' + random.nextInt(3))), random.nextInt(4)));
+        }
+        return persons;
+    }
+
+    private static MaterializedListDataProvider<Person> materialized(final List<Person> persons,
+                                                                      final SerializablePredicate<Person> filter) {
+        final MaterializedListDataProvider<Person> dataProvider = new MaterializedListDataProvider<>(persons);
+        dataProvider.setFilter(filter);
+        final BitSet matchedRows = new BitSet();
+        for (int i = 0; i < persons.size(); i++) {
+            if (filter.test(persons.get(i))) {
+                matchedRows.set(i);
+            }
+        }
+        dataProvider.materialize(filter, persons.toArray(), matchedRows);
+        return dataProvider;
+    }
+
+    private static List<Person> expected(final List<Person> persons,
+                                         final SerializablePredicate<Person> filter,
+                                         final Comparator<Person> comparator) {
+        final List<Person> expected = persons.stream()
+                                             .filter(filter)
+                                             .collect(Collectors.toList());
+        expected.sort(comparator);
+        return expected;
+    }
+
+    private static void assertSameOrder(final String message, final List<Person> expected, final List<Person> actual) {
+        assertEquals(message, expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(message + " at " + i, expected.get(i), actual.get(i));
+        }
+    }
+
+    private static void assertSortsStable(final SerializablePredicate<Person> filter) {
+        final Random random = new Random(9);
+        for (int size : SIZES) {
+            final List<Person> persons = randomPersons(random, size);
+            final MaterializedListDataProvider<Person> dataProvider = materialized(persons, filter);
+
+            assertSameOrder("unsorted " + size,
+                            expected(persons, filter, (a, b) -> 0),
+                            dataProvider.fetch(new Query<>())
+                                        .collect(Collectors.toList()));
+
+            dataProvider.setSortComparator(BY_SIZE);
+            assertSameOrder("sort comparator " + size,
+                            expected(persons, filter, BY_SIZE),
+                            dataProvider.fetch(new Query<>())
+                                        .collect(Collectors.toList()));
+
+            final Query<Person, SerializablePredicate<Person>> sorted = new Query<>(0,
+                                                                                  Integer.MAX_VALUE,
+                                                                                  Collections.emptyList(),
+                                                                                  BY_NAME_DESCENDING,
+                                                                                  null);
+            assertSameOrder("in-memory sorting and sort comparator " + size,
+                            expected(persons, filter, BY_NAME_DESCENDING.thenComparing(BY_SIZE)),
+                            dataProvider.fetch(sorted)
+                                        .collect(Collectors.toList()));
+
+            // a page of the cached sorted positions
+            final int offset = size / 3;
+            final List<Person> page = expected(persons, filter, BY_NAME_DESCENDING.thenComparing(BY_SIZE));
+            assertSameOrder("page " + size,
+                            page.subList(Math.min(offset, page.size()), Math.min(offset + 10, page.size())),
+                            dataProvider.fetch(new Query<>(offset,
+                                                           10,
+                                                           Collections.emptyList(),
+                                                           BY_NAME_DESCENDING,
+                                                           null))
+                                        .collect(Collectors.toList()));
+
+            dataProvider.setSortComparator(null);
+            assertSameOrder("in-memory sorting " + size,
+                            expected(persons, filter, BY_NAME_DESCENDING),
+                            dataProvider.fetch(sorted)
+                                        .collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void sortsAllRowsStable() {
+        assertSortsStable(person -> true);
+    }
+
+    @Test
+    public void sortsMatchingRowsStable() {
+        assertSortsStable(person -> person.getSize() != 0);
+    }
+}
@@ -0,0 +1,236 @@
+package org.vaadin.gridutil.cell.filter;
+
+import com.vaadin.server.SerializablePredicate;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * the GridCellFilter only re-checks the previously matched rows when {@link NarrowableFilter#isNarrowerThan} is true,
+ * so a filter must never claim to be narrower while accepting a value the previous filter rejected
+ */
+public class NarrowableFilterTest {
+
+    private static final List<Integer> INTEGERS = Arrays.asList(null, Integer.MIN_VALUE, -10, -1, 0, 1, 5, 9, 10, 11,
+                                                                20, Integer.MAX_VALUE);
+
+    private static final List<Long> LONGS = Arrays.asList(null, Long.MIN_VALUE, -10L, -1L, 0L, 1L, 5L, 9L, 10L, 11L,
+                                                          20L, Long.MAX_VALUE);
+
+    private static final List<Double> DOUBLES = Arrays.asList(null, Double.NEGATIVE_INFINITY, -10.0, -0.0, 0.0, 0.5,
+                                                              5.0, 10.0, 10.5, Double.POSITIVE_INFINITY, Double.NaN);
+
+    private static final List<String> TEXTS = Arrays.asList(null, "", "a", "A", "an", "Anna", "ANNABELLE", "joanna",
+                                                            "Hanna", "bernd", "İstanbul", "istanbul", "Maſs", "mass");
+
+    /**
+     * asserts the answer of isNarrowerThan and that a narrower filter accepts no value the previous one rejects
+     */
+    @SuppressWarnings("unchecked")
+    private static <V> void assertNarrower(final boolean expected,
+                                           final NarrowableFilter<?> next,
+                                           final SerializablePredicate<?> previous,
+                                           final List<? extends V> values) {
+        assertTrue(next + " narrower than " + previous, next.isNarrowerThan(previous) == expected);
+        if (expected) {
+            for (V value : values) {
+                if (((SerializablePredicate<V>) next).test(value)) {
+                    assertTrue(value + " matched by " + next + " but not by " + previous,
+                               ((SerializablePredicate<V>) previous).test(value));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void equalFilter() {
+        assertNarrower(true, new EqualFilter<>(5), new EqualFilter<>(5), INTEGERS);
+        assertNarrower(false, new EqualFilter<>(5), new EqualFilter<>(6), INTEGERS);
+        assertNarrower(true, new EqualFilter<>(null), new EqualFilter<>(null), INTEGERS);
+        assertNarrower(false, new EqualFilter<>(null), new EqualFilter<>(5), INTEGERS);
+        assertNarrower(false, new EqualFilter<>(5), new EqualFilter<>(null), INTEGERS);
+        assertNarrower(true, new EqualFilter<>(5), new BetweenFilter<>(1, 10), INTEGERS);
+        assertNarrower(true, new EqualFilter<>(10), new BetweenFilter<>(1, 10), INTEGERS);
+        assertNarrower(true, new EqualFilter<>(1), new BetweenFilter<>(1, null), INTEGERS);
+        assertNarrower(false, new EqualFilter<>(11), new BetweenFilter<>(1, 10), INTEGERS);
+        assertNarrower(false, new EqualFilter<>(null), new BetweenFilter<>(1, 10), INTEGERS);
+        assertNarrower(true, new EqualFilter<>(null), new BetweenFilter<Integer>(null, null), INTEGERS);
+        assertNarrower(true, new EqualFilter<>(5), new GreaterOrEqualFilter<>(5), INTEGERS);
+        assertNarrower(false, new EqualFilter<>(4), new GreaterOrEqualFilter<>(5), INTEGERS);
+        assertNarrower(true, new EqualFilter<>(5), new LessOrEqualFilter<>(5), INTEGERS);
+        assertNarrower(false, new EqualFilter<>(6), new LessOrEqualFilter<>(5), INTEGERS);
+        assertNarrower(false, new EqualFilter<>(null), new GreaterOrEqualFilter<>(5), INTEGERS);
+        // bounds of another type are never compared
+        assertNarrower(false, new EqualFilter<>(5L), new BetweenFilter<>(1, 10), LONGS);
+        assertNarrower(false, new EqualFilter<>("5"), new GreaterOrEqualFilter<>(1), INTEGERS);
+        assertNarrower(false, new EqualFilter<>(5), IntRangeFilter.of(1, 10), INTEGERS);
+    }
+
+    @Test
+    public void betweenFilter() {
+        assertNarrower(true, new BetweenFilter<>(2, 8), new BetweenFilter<>(1, 10), INTEGERS);
+        assertNarrower(true, new BetweenFilter<>(1, 10), new BetweenFilter<>(1, 10), INTEGERS);
+        assertNarrower(false, new BetweenFilter<>(0, 10), new BetweenFilter<>(1, 10), INTEGERS);
+        assertNarrower(false, new BetweenFilter<>(1, 11), new BetweenFilter<>(1, 10), INTEGERS);
+        assertNarrower(true, new BetweenFilter<>(1, 10), new BetweenFilter<>(null, 10), INTEGERS);
+        assertNarrower(true, new BetweenFilter<>(1, 10), new BetweenFilter<>(1, null), INTEGERS);
+        assertNarrower(false, new BetweenFilter<>(null, 10), new BetweenFilter<>(1, 10), INTEGERS);
+        assertNarrower(false, new BetweenFilter<>(1, null), new BetweenFilter<>(1, 10), INTEGERS);
+        assertNarrower(false, new BetweenFilter<>(1, 10), new GreaterOrEqualFilter<>(1), INTEGERS);
+    }
+
+    @Test
+    public void halfOpenComparableFilters() {
+        assertNarrower(true, new GreaterOrEqualFilter<>(5), new GreaterOrEqualFilter<>(1), INTEGERS);
+        assertNarrower(true, new GreaterOrEqualFilter<>(5), new GreaterOrEqualFilter<>(5), INTEGERS);
+        assertNarrower(false, new GreaterOrEqualFilter<>(1), new GreaterOrEqualFilter<>(5), INTEGERS);
+        assertNarrower(true, new GreaterOrEqualFilter<>(5), new BetweenFilter<>(1, null), INTEGERS);
+        assertNarrower(false, new GreaterOrEqualFilter<>(5), new BetweenFilter<>(1, 10), INTEGERS);
+        assertNarrower(false, new GreaterOrEqualFilter<>(5), new LessOrEqualFilter<>(10), INTEGERS);
+        assertNarrower(true, new LessOrEqualFilter<>(5), new LessOrEqualFilter<>(10), INTEGERS);
+        assertNarrower(true, new LessOrEqualFilter<>(10), new LessOrEqualFilter<>(10), INTEGERS);
+        assertNarrower(false, new LessOrEqualFilter<>(11), new LessOrEqualFilter<>(10), INTEGERS);
+        assertNarrower(true, new LessOrEqualFilter<>(5), new BetweenFilter<>(null, 10), INTEGERS);
+        assertNarrower(false, new LessOrEqualFilter<>(5), new BetweenFilter<>(1, 10), INTEGERS);
+    }
+
+    @Test
+    public void intRangeFilter() {
+        assertNarrower(true, new IntRangeFilter(2, 8), new IntRangeFilter(1, 10), INTEGERS);
+        assertNarrower(true, new IntRangeFilter(1, 10), new IntRangeFilter(1, 10), INTEGERS);
+        assertNarrower(false, new IntRangeFilter(0, 10), new IntRangeFilter(1, 10), INTEGERS);
+        assertNarrower(false, new IntRangeFilter(1, 11), new IntRangeFilter(1, 10), INTEGERS);
+        assertNarrower(true, IntRangeFilter.of(5, null), IntRangeFilter.of(1, null), INTEGERS);
+        assertNarrower(false, IntRangeFilter.of(1, null), IntRangeFilter.of(5, null), INTEGERS);
+        assertNarrower(true, IntRangeFilter.of(1, 10), IntRangeFilter.of(1, null), INTEGERS);
+        assertNarrower(false, IntRangeFilter.of(1, null), IntRangeFilter.of(1, 10), INTEGERS);
+        assertNarrower(true, IntRangeFilter.of(null, 5), IntRangeFilter.of(null, 10), INTEGERS);
+        assertNarrower(false, IntRangeFilter.of(null, 10), IntRangeFilter.of(null, 5), INTEGERS);
+        assertNarrower(false, IntRangeFilter.of(null, 5), IntRangeFilter.of(1, null), INTEGERS);
+        assertNarrower(false, new IntRangeFilter(1, 10), new LongRangeFilter(1, 10), INTEGERS);
+    }
+
+    @Test
+    public void longRangeFilter() {
+        assertNarrower(true, new LongRangeFilter(2, 8), new LongRangeFilter(1, 10), LONGS);
+        assertNarrower(true, new LongRangeFilter(1, 10), new LongRangeFilter(1, 10), LONGS);
+        assertNarrower(false, new LongRangeFilter(0, 10), new LongRangeFilter(1, 10), LONGS);
+        assertNarrower(false, new LongRangeFilter(1, 11), new LongRangeFilter(1, 10), LONGS);
+        assertNarrower(true, LongRangeFilter.of(5L, null), LongRangeFilter.of(1L, null), LONGS);
+        assertNarrower(false, LongRangeFilter.of(1L, null), LongRangeFilter.of(5L, null), LONGS);
+        assertNarrower(true, LongRangeFilter.of(null, 5L), LongRangeFilter.of(null, 10L), LONGS);
+        assertNarrower(false, LongRangeFilter.of(null, 10L), LongRangeFilter.of(null, 5L), LONGS);
+        assertNarrower(true, LongRangeFilter.of(null, 5L), LongRangeFilter.of(null, null), LONGS);
+    }
+
+    @Test
+    public void doubleRangeFilter() {
+        assertNarrower(true, new DoubleRangeFilter(0.5, 5), new DoubleRangeFilter(-0.0, 10), DOUBLES);
+        assertNarrower(true, new DoubleRangeFilter(-0.0, 10), new DoubleRangeFilter(0.0, 10), DOUBLES);
+        assertNarrower(true, new DoubleRangeFilter(0.0, 10), new DoubleRangeFilter(-0.0, 10), DOUBLES);
+        assertNarrower(false, new DoubleRangeFilter(-10, 10), new DoubleRangeFilter(-0.0, 10), DOUBLES);
+        assertNarrower(false, new DoubleRangeFilter(0, 10.5), new DoubleRangeFilter(0, 10), DOUBLES);
+        assertNarrower(true, DoubleRangeFilter.of(5.0, null), DoubleRangeFilter.of(0.5, null), DOUBLES);
+        assertNarrower(false, DoubleRangeFilter.of(0.5, null), DoubleRangeFilter.of(5.0, null), DOUBLES);
+        assertNarrower(true, DoubleRangeFilter.of(null, 5.0), DoubleRangeFilter.of(null, 10.0), DOUBLES);
+        assertNarrower(false, DoubleRangeFilter.of(null, 10.0), DoubleRangeFilter.of(null, 5.0), DOUBLES);
+        // a NaN bound matches nothing and is never compared as narrower
+        assertNarrower(false, new DoubleRangeFilter(Double.NaN, 10), new DoubleRangeFilter(0, 10), DOUBLES);
+        assertNarrower(false, new DoubleRangeFilter(0, 10), new DoubleRangeFilter(Double.NaN, 10), DOUBLES);
+    }
+
+    @Test
+    public void dateRangeFilter() {
+        final ZoneId zone = ZoneId.of("Europe/Vienna");
+        final LocalDateTime start = LocalDateTime.of(2017, 1, 1, 0, 0);
+        final LocalDateTime end = LocalDateTime.of(2017, 12, 31, 23, 59);
+        final List<Date> dates = Arrays.asList(null,
+                                               Date.from(start.minusDays(1)
+                                                              .atZone(zone)
+                                                              .toInstant()),
+                                               Date.from(start.atZone(zone)
+                                                              .toInstant()),
+                                               Date.from(start.plusDays(10)
+                                                              .atZone(zone)
+                                                              .toInstant()),
+                                               Date.from(end.atZone(zone)
+                                                            .toInstant()),
+                                               Date.from(end.plusDays(1)
+                                                            .atZone(zone)
+                                                            .toInstant()));
+        assertNarrower(true,
+                       DateRangeFilter.of(Date.class, start.plusDays(1), end.minusDays(1), zone),
+                       DateRangeFilter.of(Date.class, start, end, zone),
+                       dates);
+        assertNarrower(true,
+                       DateRangeFilter.of(Date.class, start, end, zone),
+                       DateRangeFilter.of(Date.class, start, end, zone),
+                       dates);
+        assertNarrower(false,
+                       DateRangeFilter.of(Date.class, start.minusDays(1), end, zone),
+                       DateRangeFilter.of(Date.class, start, end, zone),
+                       dates);
+        assertNarrower(true,
+                       DateRangeFilter.of(Date.class, start, end, zone),
+                       DateRangeFilter.of(Date.class, start, null, zone),
+                       dates);
+        assertNarrower(false,
+                       DateRangeFilter.of(Date.class, start, null, zone),
+                       DateRangeFilter.of(Date.class, start, end, zone),
+                       dates);
+        assertNarrower(false,
+                       DateRangeFilter.of(Date.class, start, end, zone),
+                       DateRangeFilter.of(Date.class, start, end, ZoneId.of("UTC")),
+                       dates);
+    }
+
+    @Test
+    public void simpleStringFilterCaseSensitive() {
+        assertNarrower(true, new SimpleStringFilter("Ann", false, true), new SimpleStringFilter("An", false, true),
+                       TEXTS);
+        assertNarrower(true, new SimpleStringFilter("An", false, true), new SimpleStringFilter("An", false, true),
+                       TEXTS);
+        assertNarrower(false, new SimpleStringFilter("A", false, true), new SimpleStringFilter("An", false, true),
+                       TEXTS);
+        assertNarrower(false, new SimpleStringFilter("ann", false, true), new SimpleStringFilter("An", false, true),
+                       TEXTS);
+        assertNarrower(true, new SimpleStringFilter("anna", false, false), new SimpleStringFilter("nn", false, false),
+                       TEXTS);
+        assertNarrower(true, new SimpleStringFilter("Ann", false, true), new SimpleStringFilter("nn", false, false),
+                       TEXTS);
+        assertNarrower(false, new SimpleStringFilter("nna", false, false), new SimpleStringFilter("n", false, true),
+                       TEXTS);
+        assertNarrower(false, new SimpleStringFilter("nn", false, false), new SimpleStringFilter("nn", true, false),
+                       TEXTS);
+    }
+
+    @Test
+    public void simpleStringFilterIgnoreCase() {
+        assertNarrower(true, new SimpleStringFilter("ANN", true, true), new SimpleStringFilter("an", true, true),
+                       TEXTS);
+        assertNarrower(true, new SimpleStringFilter("An", true, true), new SimpleStringFilter("aN", true, true),
+                       TEXTS);
+        assertNarrower(false, new SimpleStringFilter("a", true, true), new SimpleStringFilter("an", true, true),
+                       TEXTS);
+        assertNarrower(true, new SimpleStringFilter("ANNA", true, false), new SimpleStringFilter("nN", true, false),
+                       TEXTS);
+        assertNarrower(true, new SimpleStringFilter("hAn", true, true), new SimpleStringFilter("AN", true, false),
+                       TEXTS);
+        assertNarrower(false, new SimpleStringFilter("anna", true, false), new SimpleStringFilter("an", true, true),
+                       TEXTS);
+        assertNarrower(false, new SimpleStringFilter("anna", true, false), new SimpleStringFilter("anna", false, false),
+                       TEXTS);
+        // chars that change their length when lower cased are folded one by one like in the scan
+        assertNarrower(true, new SimpleStringFilter("İst", true, true), new SimpleStringFilter("i", true, true),
+                       TEXTS);
+        assertNarrower(true, new SimpleStringFilter("MAſS", true, false), new SimpleStringFilter("ss", true, false),
+                       TEXTS);
+    }
+}
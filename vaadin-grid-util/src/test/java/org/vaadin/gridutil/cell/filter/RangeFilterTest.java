@@ -0,0 +1,136 @@
+package org.vaadin.gridutil.cell.filter;
+
+import org.junit.Test;
+import org.vaadin.gridutil.cell.query.FilterCondition;
+import org.vaadin.gridutil.cell.query.FilterOperator;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * the primitive range filters with both bounds, the half-open variants of their of(..) factories and open ranges
+ * compared with the inclusive range the bounds describe, their conditions and equality
+ */
+public class RangeFilterTest {
+
+    private static final long[] LONGS = {Long.MIN_VALUE, Integer.MIN_VALUE - 1L, Integer.MIN_VALUE, -11, -10, -1, 0, 1,
+            9, 10, 11, Integer.MAX_VALUE, Integer.MAX_VALUE + 1L, 1L << 32 | 5, Long.MAX_VALUE};
+
+    private static final double[] DOUBLES = {Double.NEGATIVE_INFINITY, -Double.MAX_VALUE, -10.5, -10, -0.0, 0.0,
+            Double.MIN_VALUE, 9.99, 10, 10.5, Double.MAX_VALUE, Double.POSITIVE_INFINITY};
+
+    // no MIN_VALUE, MAX_VALUE or infinite bounds, the filters treat them as open
+    private static final Long[] LONG_BOUNDS = {null, -10L, 0L, 10L};
+
+    private static final Double[] DOUBLE_BOUNDS = {null, -10d, -0.0, 0.0, 10d, Double.MAX_VALUE};
+
+    private static void assertCondition(final FilterCondition condition, final Object min, final Object max) {
+        final FilterOperator operator = min != null && max != null ?
+                                        FilterOperator.BETWEEN :
+                                        min != null ?
+                                        FilterOperator.GREATER_OR_EQUAL :
+                                        max != null ? FilterOperator.LESS_OR_EQUAL : FilterOperator.IS_NOT_NULL;
+        assertEquals(operator, condition.getOperator());
+        assertEquals(Arrays.stream(new Object[]{min, max})
+                           .filter(bound -> bound != null)
+                           .toArray(), condition.getOperands()
+                                                .toArray());
+    }
+
+    @Test
+    public void intRangeFilter() {
+        for (Long minBound : LONG_BOUNDS) {
+            for (Long maxBound : LONG_BOUNDS) {
+                final Integer min = minBound != null ? (int) (long) minBound : null;
+                final Integer max = maxBound != null ? (int) (long) maxBound : null;
+                final IntRangeFilter filter = IntRangeFilter.of(min, max);
+                final String message = min + ".." + max;
+                for (long value : LONGS) {
+                    final boolean expected = (min == null || value >= min) && (max == null || value <= max);
+                    assertEquals(message + " " + value, expected, filter.test(value));
+                    assertEquals(message + " " + value, expected, filter.testLong(value));
+                    if (value == (int) value) {
+                        assertEquals(message + " " + value, expected, filter.test((int) value));
+                        assertEquals(message + " " + value, expected, filter.testInt((int) value));
+                    }
+                }
+                assertCondition(filter.toCondition("size"), min, max);
+                assertEquals(filter, IntRangeFilter.of(min, max));
+                assertEquals(filter.hashCode(), IntRangeFilter.of(min, max)
+                                                              .hashCode());
+                assertFalse(filter.test(null));
+            }
+        }
+        assertEquals(new IntRangeFilter(-10, 10), IntRangeFilter.of(-10, 10));
+        assertNotEquals(IntRangeFilter.of(0, null), IntRangeFilter.of(null, 0));
+    }
+
+    @Test
+    public void longRangeFilter() {
+        for (Long min : LONG_BOUNDS) {
+            for (Long max : LONG_BOUNDS) {
+                final LongRangeFilter filter = LongRangeFilter.of(min, max);
+                final String message = min + ".." + max;
+                for (long value : LONGS) {
+                    final boolean expected = (min == null || value >= min) && (max == null || value <= max);
+                    assertEquals(message + " " + value, expected, filter.test(value));
+                    assertEquals(message + " " + value, expected, filter.testLong(value));
+                }
+                assertCondition(filter.toCondition("size"), min, max);
+                assertEquals(filter, LongRangeFilter.of(min, max));
+                assertEquals(filter.hashCode(), LongRangeFilter.of(min, max)
+                                                               .hashCode());
+                assertFalse(filter.test(null));
+            }
+        }
+        assertEquals(new LongRangeFilter(-10, 10), LongRangeFilter.of(-10L, 10L));
+        assertNotEquals(LongRangeFilter.of(0L, null), LongRangeFilter.of(null, 0L));
+    }
+
+    @Test
+    public void doubleRangeFilter() {
+        for (Double min : DOUBLE_BOUNDS) {
+            for (Double max : DOUBLE_BOUNDS) {
+                final DoubleRangeFilter filter = DoubleRangeFilter.of(min, max);
+                final String message = min + ".." + max;
+                for (double value : DOUBLES) {
+                    // primitive comparison: -0.0 and 0.0 are equal
+                    final boolean expected = (min == null || value >= min) && (max == null || value <= max);
+                    assertEquals(message + " " + value, expected, filter.test(value));
+                    assertEquals(message + " " + value, expected, filter.testDouble(value));
+                }
+                assertFalse(message, filter.test(Double.NaN));
+                assertFalse(message, filter.testDouble(Double.NaN));
+                assertCondition(filter.toCondition("size"), min, max);
+                assertEquals(filter, DoubleRangeFilter.of(min, max));
+                assertEquals(filter.hashCode(), DoubleRangeFilter.of(min, max)
+                                                                 .hashCode());
+                assertFalse(filter.test(null));
+            }
+        }
+        assertEquals(new DoubleRangeFilter(-10, 10), DoubleRangeFilter.of(-10d, 10d));
+        assertNotEquals(DoubleRangeFilter.of(0d, null), DoubleRangeFilter.of(null, 0d));
+    }
+
+    @Test
+    public void nanNeverMatches() {
+        final DoubleRangeFilter[] filters = {new DoubleRangeFilter(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY),
+                new DoubleRangeFilter(Double.NaN, 10), new DoubleRangeFilter(0, Double.NaN),
+                new DoubleRangeFilter(Double.NaN, Double.NaN), DoubleRangeFilter.of(Double.NaN, null),
+                DoubleRangeFilter.of(null, Double.NaN), DoubleRangeFilter.of(Double.NaN, 10d)};
+        for (DoubleRangeFilter filter : filters) {
+            assertFalse(filter.toString(), filter.test(Double.NaN));
+            assertFalse(filter.toString(), filter.test(Float.NaN));
+            if (!filter.equals(filters[0])) {
+                // a NaN bound excludes every value
+                for (double value : DOUBLES) {
+                    assertFalse(filter + " " + value, filter.testDouble(value));
+                }
+            }
+        }
+        assertEquals(DoubleRangeFilter.of(Double.NaN, null), DoubleRangeFilter.of(Double.NaN, null));
+    }
+}
@@ -0,0 +1,66 @@
+package org.vaadin.gridutil.cell.filter;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * matches random texts with chars whose case mapping isn't one to one and compares the result with
+ * {@link String#regionMatches(boolean, int, String, int, int)} at every position
+ */
+public class SimpleStringFilterTest {
+
+    // Kelvin sign, long s, dotted and dotless i, sharp s and a few ASCII chars
+    private static final char[] CHARS = {'a', 'A', 'k', 'K', '\u212A', 's', 'S', '\u017F', 'i', 'I', '\u0130',
+            '\u0131', '\u00DF', '\u00E9', '\u00C9', '1', ' ', '@', '['};
+
+    private static String randomText(final Random random, final int maxLength) {
+        final StringBuilder text = new StringBuilder();
+        for (int i = random.nextInt(maxLength + 1); i > 0; i--) {
+            text.append(CHARS[random.nextInt(CHARS.length)]);
+        }
+        return text.toString();
+    }
+
+    private static boolean reference(final String value, final String needle, final boolean ignoreCase,
+                                     final boolean onlyMatchPrefix) {
+        if (onlyMatchPrefix) {
+            return value.regionMatches(ignoreCase, 0, needle, 0, needle.length());
+        }
+        for (int i = 0; i <= value.length() - needle.length(); i++) {
+            if (value.regionMatches(ignoreCase, i, needle, 0, needle.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void matchesLikeRegionMatches() {
+        final Random random = new Random(11);
+        for (int round = 0; round < 20000; round++) {
+            final String needle = randomText(random, 3);
+            final String value = randomText(random, 8);
+            final boolean ignoreCase = random.nextBoolean();
+            final boolean onlyMatchPrefix = random.nextBoolean();
+            assertEquals(value + " / " + needle + " ignoreCase=" + ignoreCase + " prefix=" + onlyMatchPrefix,
+                         reference(value, needle, ignoreCase, onlyMatchPrefix),
+                         new SimpleStringFilter(needle, ignoreCase, onlyMatchPrefix).test(value));
+        }
+    }
+
+    @Test
+    public void everyCharMatchesItsCaseVariants() {
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            final String text = String.valueOf((char) c);
+            final String upper = String.valueOf(Character.toUpperCase((char) c));
+            final String lower = String.valueOf(Character.toLowerCase((char) c));
+            assertTrue(text, new SimpleStringFilter(upper, true, false).test("x" + text));
+            assertTrue(text, new SimpleStringFilter(lower, true, false).test("x" + text));
+            assertTrue(text, new SimpleStringFilter(text, true, false).test("x" + upper + "y"));
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package org.vaadin.gridutil.cell.index;
+
+import com.vaadin.server.SerializablePredicate;
+import org.junit.Test;
+import org.vaadin.gridutil.cell.filter.BetweenFilter;
+import org.vaadin.gridutil.cell.filter.DateRangeFilter;
+import org.vaadin.gridutil.cell.filter.DoubleRangeFilter;
+import org.vaadin.gridutil.cell.filter.EqualFilter;
+import org.vaadin.gridutil.cell.filter.GreaterOrEqualFilter;
+import org.vaadin.gridutil.cell.filter.IntRangeFilter;
+import org.vaadin.gridutil.cell.filter.LessOrEqualFilter;
+import org.vaadin.gridutil.cell.filter.LongRangeFilter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * resolves filters via the index after building and random updates (inserts of former null rows, removals by setting
+ * null and moves to another key) and compares the rows with testing every value by the filter itself
+ */
+public class RangeIndexTest {
+
+    private static final double[] SPECIAL_DOUBLES = {-0.0, 0.0, Double.NaN, Double.NEGATIVE_INFINITY,
+            Double.POSITIVE_INFINITY, Double.MIN_VALUE, -Double.MIN_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE};
+
+    private static BitSet scan(final Object[] values, final SerializablePredicate<Object> filter,
+                               final BitSet candidates) {
+        final BitSet result = new BitSet();
+        for (int i = 0; i < values.length; i++) {
+            if ((candidates == null || candidates.get(i)) && filter.test(values[i])) {
+                result.set(i);
+            }
+        }
+        return result;
+    }
+
+    private static BitSet randomCandidates(final Random random, final int size) {
+        final BitSet candidates = new BitSet();
+        for (int i = 0; i < size; i++) {
+            if (random.nextInt(3) == 0) {
+                candidates.set(i);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * @param required true when the index has to resolve the filter
+     */
+    @SuppressWarnings("unchecked")
+    private static void assertResolves(final RangeIndex index,
+                                       final Object[] values,
+                                       final SerializablePredicate<?> filter,
+                                       final boolean required,
+                                       final Random random) {
+        final SerializablePredicate<Object> predicate = (SerializablePredicate<Object>) filter;
+        final BitSet all = index.resolve(filter, null);
+        if (required) {
+            assertNotNull(filter.toString(), all);
+        }
+        if (all != null) {
+            assertEquals(filter.toString(), scan(values, predicate, null), all);
+            final BitSet candidates = randomCandidates(random, values.length);
+            assertEquals(filter.toString(), scan(values, predicate, candidates), index.resolve(filter, candidates));
+        }
+    }
+
+    /**
+     * builds the index over random values, applies random updates and checks the given filters after each step
+     */
+    private static <V> void randomOperations(final Random random,
+                                             final Function<Random, V> nextValue,
+                                             final Function<Random, List<SerializablePredicate<?>>> requiredFilters,
+                                             final Function<Random, List<SerializablePredicate<?>>> optionalFilters) {
+        for (int round = 0; round < 30; round++) {
+            final Object[] values = new Object[random.nextInt(200)];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = random.nextInt(5) == 0 ? null : nextValue.apply(random);
+            }
+            final RangeIndex index = new RangeIndex();
+            index.build(values.clone());
+            for (int step = 0; step < 60; step++) {
+                for (SerializablePredicate<?> filter : requiredFilters.apply(random)) {
+                    assertResolves(index, values, filter, true, random);
+                }
+                for (SerializablePredicate<?> filter : optionalFilters.apply(random)) {
+                    assertResolves(index, values, filter, false, random);
+                }
+                if (values.length == 0) {
+                    break;
+                }
+                for (int update = random.nextInt(4); update >= 0; update--) {
+                    final int row = random.nextInt(values.length);
+                    values[row] = random.nextInt(4) == 0 ? null : nextValue.apply(random);
+                    index.update(row, values[row]);
+                }
+            }
+        }
+    }
+
+    private static Long nextLong(final Random random) {
+        return (long) random.nextInt(40) - 20;
+    }
+
+    private static Double nextDouble(final Random random) {
+        if (random.nextInt(4) == 0) {
+            return SPECIAL_DOUBLES[random.nextInt(SPECIAL_DOUBLES.length)];
+        }
+        return (random.nextInt(40) - 20) / 4d;
+    }
+
+    @Test
+    public void longColumn() {
+        randomOperations(new Random(1), RangeIndexTest::nextLong, random -> {
+            final long a = nextLong(random);
+            final long b = nextLong(random);
+            final List<SerializablePredicate<?>> filters = new ArrayList<>();
+            filters.add(new BetweenFilter<>(a, b));
+            filters.add(new BetweenFilter<>(a, null));
+            filters.add(new BetweenFilter<>(null, b));
+            filters.add(new BetweenFilter<Long>(null, null));
+            filters.add(new GreaterOrEqualFilter<>(a));
+            filters.add(new LessOrEqualFilter<>(b));
+            filters.add(new EqualFilter<>(a));
+            filters.add(new EqualFilter<>(null));
+            filters.add(new LongRangeFilter(a, b));
+            filters.add(LongRangeFilter.of(a, null));
+            filters.add(LongRangeFilter.of(null, b));
+            return filters;
+        }, random -> {
+            final List<SerializablePredicate<?>> filters = new ArrayList<>();
+            // the filters don't consider an Integer equal to a Long, the index must not either
+            filters.add(new EqualFilter<>((int) (long) nextLong(random)));
+            filters.add(IntRangeFilter.of((int) (long) nextLong(random), null));
+            filters.add(DoubleRangeFilter.of(0d, null));
+            return filters;
+        });
+    }
+
+    @Test
+    public void integerColumn() {
+        randomOperations(new Random(2), random -> (int) (long) nextLong(random), random -> {
+            final int a = (int) (long) nextLong(random);
+            final int b = (int) (long) nextLong(random);
+            final List<SerializablePredicate<?>> filters = new ArrayList<>();
+            filters.add(new BetweenFilter<>(a, b));
+            filters.add(new EqualFilter<>(a));
+            filters.add(new IntRangeFilter(a, b));
+            filters.add(IntRangeFilter.of(a, null));
+            filters.add(IntRangeFilter.of(null, b));
+            filters.add(new LongRangeFilter(a, b));
+            return filters;
+        }, random -> {
+            final List<SerializablePredicate<?>> filters = new ArrayList<>();
+            filters.add(new EqualFilter<>((long) random.nextInt(10)));
+            return filters;
+        });
+    }
+
+    @Test
+    public void doubleColumn() {
+        randomOperations(new Random(3), RangeIndexTest::nextDouble, random -> {
+            final double a = nextDouble(random);
+            final double b = nextDouble(random);
+            final List<SerializablePredicate<?>> filters = new ArrayList<>();
+            filters.add(new BetweenFilter<>(a, b));
+            filters.add(new BetweenFilter<>(a, null));
+            filters.add(new BetweenFilter<>(null, b));
+            filters.add(new GreaterOrEqualFilter<>(a));
+            filters.add(new LessOrEqualFilter<>(b));
+            filters.add(new EqualFilter<>(a));
+            filters.add(new EqualFilter<>(-0.0));
+            filters.add(new EqualFilter<>(0.0));
+            filters.add(new EqualFilter<>(Double.NaN));
+            filters.add(new DoubleRangeFilter(a, b));
+            filters.add(new DoubleRangeFilter(-0.0, 0.0));
+            filters.add(new DoubleRangeFilter(0.0, -0.0));
+            filters.add(DoubleRangeFilter.of(a, null));
+            filters.add(DoubleRangeFilter.of(null, b));
+            filters.add(DoubleRangeFilter.of(0.0, null));
+            filters.add(DoubleRangeFilter.of(null, -0.0));
+            filters.add(DoubleRangeFilter.of(null, null));
+            return filters;
+        }, random -> {
+            final List<SerializablePredicate<?>> filters = new ArrayList<>();
+            filters.add(new DoubleRangeFilter(Double.NaN, 1));
+            filters.add(new EqualFilter<>(1f));
+            filters.add(LongRangeFilter.of(0L, null));
+            return filters;
+        });
+    }
+
+    @Test
+    public void dateColumn() {
+        final LocalDateTime base = LocalDateTime.of(2017, 1, 1, 0, 0);
+        randomOperations(new Random(4),
+                         random -> Date.from(base.plusHours(random.nextInt(100))
+                                                 .toInstant(ZoneOffset.UTC)),
+                         random -> {
+                             final LocalDateTime a = base.plusHours(random.nextInt(100));
+                             final LocalDateTime b = a.plusHours(random.nextInt(50));
+                             final List<SerializablePredicate<?>> filters = new ArrayList<>();
+                             filters.add(DateRangeFilter.of(Date.class, a, b, ZoneOffset.UTC));
+                             filters.add(DateRangeFilter.of(Date.class, a, null, ZoneOffset.UTC));
+                             filters.add(DateRangeFilter.of(Date.class, null, b, ZoneOffset.UTC));
+                             filters.add(new BetweenFilter<>(Date.from(a.toInstant(ZoneOffset.UTC)),
+                                                             Date.from(b.toInstant(ZoneOffset.UTC))));
+                             filters.add(new EqualFilter<>(Date.from(a.toInstant(ZoneOffset.UTC))));
+                             return filters;
+                         },
+                         random -> new ArrayList<>());
+    }
+
+    @Test
+    public void unsupportedColumn() {
+        final RangeIndex index = new RangeIndex();
+        index.build(new Object[]{BigDecimal.ONE, null, BigDecimal.TEN});
+        assertNull(index.resolve(new BetweenFilter<>(BigDecimal.ONE, BigDecimal.TEN), null));
+        assertNull(index.resolve(new EqualFilter<>(BigDecimal.ONE), null));
+    }
+}
@@ -0,0 +1,102 @@
+package org.vaadin.gridutil.cell.index;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.vaadin.gridutil.cell.filter.SimpleStringFilter;
+
+import java.util.BitSet;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * resolves case insensitive text filters via the indexes and compares the rows with testing every raw value by the
+ * filter itself - under a turkish default locale, whose lower case 'I' differs
+ */
+public class TextIndexTest {
+
+    // Kelvin sign, long s, dotted and dotless i, sharp s and a few ASCII chars
+    private static final char[] CHARS = {'a', 'A', 'k', 'K', '\u212A', 's', 'S', '\u017F', 'i', 'I', '\u0130',
+            '\u0131', '\u00DF', 'x'};
+
+    private Locale defaultLocale;
+
+    @Before
+    public void setUp() {
+        defaultLocale = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+    }
+
+    @After
+    public void tearDown() {
+        Locale.setDefault(defaultLocale);
+    }
+
+    private static String randomText(final Random random, final int maxLength) {
+        final StringBuilder text = new StringBuilder();
+        for (int i = random.nextInt(maxLength + 1); i > 0; i--) {
+            text.append(CHARS[random.nextInt(CHARS.length)]);
+        }
+        return text.toString();
+    }
+
+    private static BitSet scan(final Object[] values, final SimpleStringFilter filter) {
+        final BitSet result = new BitSet();
+        for (int i = 0; i < values.length; i++) {
+            if (filter.test((String) values[i])) {
+                result.set(i);
+            }
+        }
+        return result;
+    }
+
+    private static void assertResolvesLikeScan(final Supplier<NormalizedTextIndex> indexes) {
+        final Random random = new Random(5);
+        for (int round = 0; round < 20; round++) {
+            final Object[] values = new Object[1 + random.nextInt(300)];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = random.nextInt(10) == 0 ? null : randomText(random, 6);
+            }
+            final NormalizedTextIndex index = indexes.get();
+            index.build(values.clone());
+            for (int step = 0; step < 40; step++) {
+                final SimpleStringFilter filter = new SimpleStringFilter(randomText(random, 4),
+                                                                         true,
+                                                                         random.nextBoolean());
+                assertEquals(filter.getFilterString(), scan(values, filter), index.resolve(filter, null));
+                final int row = random.nextInt(values.length);
+                values[row] = random.nextInt(10) == 0 ? null : randomText(random, 6);
+                index.update(row, values[row]);
+            }
+        }
+    }
+
+    @Test
+    public void normalizedTextIndex() {
+        assertResolvesLikeScan(NormalizedTextIndex::new);
+    }
+
+    @Test
+    public void prefixIndex() {
+        assertResolvesLikeScan(PrefixIndex::new);
+    }
+
+    @Test
+    public void trigramIndex() {
+        assertResolvesLikeScan(() -> new TrigramIndex(false, Runnable::run));
+    }
+
+    @Test
+    public void foldsIndependentOfTheLocale() {
+        assertEquals("istanbul", SimpleStringFilter.foldCase("ISTANBUL"));
+        assertEquals("istanbul", SimpleStringFilter.foldCase("\u0130stanbul"));
+        assertEquals("istanbul", SimpleStringFilter.foldCase("\u0131stanbul"));
+        assertEquals("mass", SimpleStringFilter.foldCase("Ma\u017Fs"));
+        assertEquals("kelvin", new SimpleStringFilter("\u212Aelvin", true, false).getFilterString());
+        assertNull(SimpleStringFilter.foldCase(null));
+    }
+}
@@ -0,0 +1,144 @@
+package org.vaadin.gridutil.cell.query;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * runs the rendered where clauses with their bind parameters against an in memory H2 database
+ */
+public class JdbcWhereClauseTest {
+
+    private enum Gender {
+        MALE, FEMALE
+    }
+
+    private Connection connection;
+
+    @Before
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE inhabitants (id BIGINT PRIMARY KEY, name VARCHAR(64), "
+                                      + "body_size DOUBLE, birthday TIMESTAMP, gender VARCHAR(16))");
+            statement.execute("INSERT INTO inhabitants VALUES "
+                                      + "(1, 'Anna', 1.62, '1980-01-01 00:00:00', 'FEMALE'), "
+                                      + "(2, 'Bernd', 1.85, '1990-06-15 12:00:00', 'MALE'), "
+                                      + "(3, '10% off', 1.70, '2000-03-01 08:30:00', 'FEMALE'), "
+                                      + "(4, '100 off', 1.50, NULL, 'MALE'), "
+                                      + "(5, 'a_b', NULL, '1970-01-01 00:00:00', NULL), "
+                                      + "(6, 'axb', 1.90, '2010-12-31 23:59:59', 'MALE'), "
+                                      + "(7, 'x!y', 1.75, '1985-05-05 05:05:05', 'FEMALE'), "
+                                      + "(8, 'xy', 1.80, '1995-09-09 09:09:09', 'MALE'), "
+                                      + "(9, 'ANNABELLE', 1.66, '1999-12-31 00:00:00', 'FEMALE')");
+        }
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    private List<Long> select(final FilterNode node) throws SQLException {
+        final JdbcWhereClause where = JdbcWhereClause.of(node, propertyId -> "bodySize".equals(propertyId) ?
+                                                                             "body_size" :
+                                                                             propertyId);
+        final List<Long> ids = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement("SELECT id FROM inhabitants WHERE "
+                                                                               + where.getSql() + " ORDER BY id")) {
+            assertEquals(where.getParameters()
+                              .size() + 1, where.bind(statement, 1));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    ids.add(resultSet.getLong(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static List<Long> ids(final long... ids) {
+        final List<Long> list = new ArrayList<>();
+        for (long id : ids) {
+            list.add(id);
+        }
+        return list;
+    }
+
+    @Test
+    public void equal() throws SQLException {
+        assertEquals(ids(2), select(new FilterCondition("name", FilterOperator.EQUAL, "Bernd")));
+        assertEquals(ids(2, 4, 6, 8), select(new FilterCondition("gender", FilterOperator.EQUAL, Gender.MALE)));
+        assertEquals(ids(3), select(new FilterCondition("bodySize", FilterOperator.EQUAL, 1.70)));
+    }
+
+    @Test
+    public void between() throws SQLException {
+        assertEquals(ids(1, 3, 7, 9), select(new FilterCondition("bodySize", FilterOperator.BETWEEN, 1.6, 1.75)));
+        assertEquals(ids(1, 2, 7, 8),
+                     select(new FilterCondition("birthday",
+                                                FilterOperator.BETWEEN,
+                                                timestamp(1980, 1, 1),
+                                                timestamp(1999, 1, 1))));
+    }
+
+    @Test
+    public void openRanges() throws SQLException {
+        assertEquals(ids(2, 6, 7, 8), select(new FilterCondition("bodySize", FilterOperator.GREATER_OR_EQUAL, 1.75)));
+        assertEquals(ids(1, 4), select(new FilterCondition("bodySize", FilterOperator.LESS_OR_EQUAL, 1.62)));
+        assertEquals(ids(3, 6, 9),
+                     select(new FilterCondition("birthday", FilterOperator.GREATER_OR_EQUAL, timestamp(1999, 1, 1))));
+        assertEquals(ids(4), select(new FilterCondition("birthday", FilterOperator.IS_NULL)));
+    }
+
+    @Test
+    public void startsWith() throws SQLException {
+        assertEquals(ids(1, 9), select(new FilterCondition("name", FilterOperator.STARTS_WITH, "ann", true)));
+        assertEquals(ids(1), select(new FilterCondition("name", FilterOperator.STARTS_WITH, "Ann", false)));
+        assertEquals(ids(3), select(new FilterCondition("name", FilterOperator.STARTS_WITH, "10%", false)));
+        assertEquals(ids(5), select(new FilterCondition("name", FilterOperator.STARTS_WITH, "a_", false)));
+        assertEquals(ids(7), select(new FilterCondition("name", FilterOperator.STARTS_WITH, "x!", false)));
+    }
+
+    @Test
+    public void contains() throws SQLException {
+        assertEquals(ids(1, 9), select(new FilterCondition("name", FilterOperator.CONTAINS, "nn", true)));
+        assertEquals(ids(3), select(new FilterCondition("name", FilterOperator.CONTAINS, "0%", false)));
+        assertEquals(ids(5), select(new FilterCondition("name", FilterOperator.CONTAINS, "_", false)));
+        assertEquals(ids(7), select(new FilterCondition("name", FilterOperator.CONTAINS, "!", false)));
+        assertEquals(ids(7), select(new FilterCondition("name", FilterOperator.CONTAINS, "!y", false)));
+        assertTrue(select(new FilterCondition("name", FilterOperator.CONTAINS, "%!_", false)).isEmpty());
+    }
+
+    @Test
+    public void conjunction() throws SQLException {
+        assertEquals(ids(7, 8),
+                     select(new FilterConjunction(Arrays.asList(new FilterCondition("name",
+                                                                                    FilterOperator.STARTS_WITH,
+                                                                                    "x",
+                                                                                    true),
+                                                                new FilterCondition("bodySize",
+                                                                                    FilterOperator.GREATER_OR_EQUAL,
+                                                                                    1.7)))));
+        assertEquals(ids(1, 2, 3, 4, 5, 6, 7, 8, 9), select(new FilterConjunction(new ArrayList<>())));
+    }
+
+    @SuppressWarnings("deprecation")
+    private static Date timestamp(final int year, final int month, final int day) {
+        return new Date(year - 1900, month - 1, day);
+    }
+}